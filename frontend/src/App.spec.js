@@ -92,7 +92,12 @@ describe('App.vue Integration Tests', () => {
             { id: 1, name: 'Cyber-Deck', ort: 'Rucksack', wichtigkeit: 'WICHTIG', kategorie: 'TECH' }
         ]
 
-        fetch.mockResolvedValue(createFetchResponse(mockItems))
+        // Delta-Sync liefert beim Erstabgleich alle Gegenstände
+        fetch.mockImplementation((url) => Promise.resolve(createFetchResponse(
+            String(url).includes('/gegenstaende/changes')
+                ? { items: mockItems, deleted: [], nextToken: 't1', hasMore: false }
+                : mockItems
+        )))
 
         const wrapper = mountApp()
 
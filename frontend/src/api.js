@@ -10,15 +10,19 @@ function notifyAuthChanged() {
 }
 
 // -------- Token Storage --------
-export function setToken(token) {
+// token = kurzlebiges Access-Token (~15 min), refreshToken holt per POST /auth/refresh ein neues Paar
+export function setToken(token, refreshToken) {
     if (!token) return;
     localStorage.setItem("token", token);
+    if (refreshToken) localStorage.setItem("refreshToken", refreshToken);
     notifyAuthChanged();
 }
 
 export function clearToken() {
     localStorage.removeItem("token");
+    localStorage.removeItem("refreshToken");
     localStorage.removeItem("user"); // optional
+    resetGegenstandSync();
     notifyAuthChanged();
 }
 
@@ -52,8 +56,54 @@ function extractErrorMessage(data, res) {
     return `HTTP ${res.status}`;
 }
 
+// -------- Token-Refresh --------
+// Access-Token abgelaufen (401) -> einmal refreshen und den Request wiederholen.
+// Das Refresh-Token ist nur einmal gültig, ein zweiter Refresh mit demselben Token sieht für den Server wie
+// Diebstahl aus. Deshalb:
+//  - im selben Tab teilen sich gleichzeitige 401er einen Refresh (refreshing),
+//  - über Tabs hinweg (gleicher localStorage) serialisiert ein Web Lock; wer danach dran ist und schon ein
+//    neueres Access-Token vorfindet, als mit dem er gescheitert ist, nimmt einfach das.
+// (Der Server hat zusätzlich eine kurze Gnadenfrist für Browser ohne navigator.locks.)
+const REFRESH_LOCK = "canigo-token-refresh";
+let refreshing = null;
+
+async function refreshAccessToken(failedToken) {
+    if (failedToken && getToken() && getToken() !== failedToken) return true; // anderer Tab war schneller
+
+    if (!refreshing) {
+        const refresh = async () => {
+            if (failedToken && getToken() && getToken() !== failedToken) return true; // während wir warteten
+            const refreshToken = localStorage.getItem("refreshToken");
+            if (!refreshToken) return false;
+
+            const res = await fetch(buildUrl("/auth/refresh"), {
+                method: "POST",
+                headers: { "Content-Type": "application/json" },
+                body: JSON.stringify({ refreshToken }),
+            });
+            if (!res.ok) return false;
+            const data = await res.json();
+            // gleicher User, nur neue Tokens -> kein auth-changed Event
+            localStorage.setItem("token", data.token);
+            localStorage.setItem("refreshToken", data.refreshToken);
+            return true;
+        };
+
+        const locked = typeof navigator !== "undefined" && navigator.locks?.request
+            ? navigator.locks.request(REFRESH_LOCK, refresh)
+            : refresh();
+        refreshing = Promise.resolve(locked)
+            .catch(() => false)
+            .finally(() => {
+                refreshing = null;
+            });
+    }
+    return refreshing;
+}
+
 // -------- Core API --------
-export async function apiFetch(path, options = {}) {
+// wie apiFetch, liefert aber zusätzlich die Response-Header (z.B. X-Next-Cursor)
+export async function apiFetchWithHeaders(path, options = {}, retried = false) {
     const token = getToken();
 
     const headers = {
@@ -73,14 +123,31 @@ export async function apiFetch(path, options = {}) {
         headers,
     });
 
+    if (res.status === 401 && !retried && !String(path).startsWith("/auth/") && (await refreshAccessToken(token))) {
+        return apiFetchWithHeaders(path, options, true);
+    }
+
+    // 304 (If-None-Match passte): kein Body, der Aufrufer behält seinen Stand
+    if (res.status === 304) {
+        return { data: null, headers: res.headers, notModified: true };
+    }
+
     const data = await readBodySafe(res);
 
     if (!res.ok) {
         // optional: bei 401 ausloggen
         // if (res.status === 401) clearToken();
-        throw new Error(extractErrorMessage(data, res));
+        const err = new Error(extractErrorMessage(data, res));
+        err.status = res.status;
+        err.data = data; // z.B. bei 409: { error, current }
+        throw err;
     }
 
+    return { data, headers: res.headers };
+}
+
+export async function apiFetch(path, options = {}) {
+    const { data } = await apiFetchWithHeaders(path, options);
     return data;
 }
 
@@ -91,7 +158,7 @@ export async function login(email, password) {
         body: JSON.stringify({ email, password }),
     });
 
-    if (data?.token) setToken(data.token);
+    if (data?.token) setToken(data.token, data.refreshToken);
 
     if (data?.userId || data?.email || data?.name) {
         localStorage.setItem(
@@ -113,7 +180,7 @@ export async function register(name, email, password) {
         body: JSON.stringify({ name, email, password }),
     });
 
-    if (data?.token) setToken(data.token);
+    if (data?.token) setToken(data.token, data.refreshToken);
 
     if (data?.userId || data?.email || data?.name) {
         localStorage.setItem(
@@ -129,13 +196,89 @@ export async function register(name, email, password) {
     return data;
 }
 
+// Refresh-Token serverseitig sperren (best effort), lokal wird in jedem Fall ausgeloggt
 export async function logout() {
+    const refreshToken = localStorage.getItem("refreshToken");
     clearToken();
+    if (refreshToken) {
+        await fetch(buildUrl("/auth/logout"), {
+            method: "POST",
+            headers: { "Content-Type": "application/json" },
+            body: JSON.stringify({ refreshToken }),
+        }).catch(() => {});
+    }
 }
 
 // -------- Gegenstände API --------
-export async function getGegenstaende() {
-    return apiFetch("/gegenstaende", { method: "GET" });
+// Server liefert seitenweise (Keyset), die nächste Seite steht im Header X-Next-Cursor
+export async function getGegenstaende(filter = {}) {
+    const all = [];
+    let cursor = null;
+
+    do {
+        const params = new URLSearchParams({ ...filter, limit: "500" });
+        if (cursor) params.set("cursor", cursor);
+
+        const { data, headers } = await apiFetchWithHeaders(`/gegenstaende?${params}`, { method: "GET" });
+        if (Array.isArray(data)) all.push(...data);
+        cursor = headers?.get?.("X-Next-Cursor") ?? null;
+    } while (cursor);
+
+    return all;
+}
+
+// -------- Delta-Sync --------
+// Lokale Kopie der Gegenstände: nach dem ersten Abgleich holt jeder Aufruf nur noch die Änderungen
+// seit dem letzten Token (GET /gegenstaende/changes), unverändert -> 304 ohne Body.
+const syncState = { owner: null, token: null, etag: null, items: new Map() };
+
+export function resetGegenstandSync() {
+    syncState.owner = null;
+    syncState.token = null;
+    syncState.etag = null;
+    syncState.items = new Map();
+}
+
+export async function syncGegenstaende() {
+    // pro User (nicht pro Token – das wechselt beim Refresh alle paar Minuten)
+    const owner = localStorage.getItem("user") ?? getToken();
+    if (syncState.owner !== owner) {
+        resetGegenstandSync();
+        syncState.owner = owner;
+    }
+
+    let hasMore = true;
+    while (hasMore) {
+        const params = new URLSearchParams({ limit: "1000" });
+        if (syncState.token) params.set("since", syncState.token);
+        const headers = syncState.etag ? { "If-None-Match": syncState.etag } : {};
+
+        const { data, headers: resHeaders, notModified } =
+            await apiFetchWithHeaders(`/gegenstaende/changes?${params}`, { method: "GET", headers });
+        if (notModified) break;
+
+        for (const item of data?.items ?? []) syncState.items.set(item.id, item);
+        for (const id of data?.deleted ?? []) syncState.items.delete(id);
+        syncState.token = data?.nextToken ?? syncState.token;
+        syncState.etag = resHeaders?.get?.("ETag") ?? null;
+        hasMore = !!data?.hasMore;
+    }
+
+    // gleiche Reihenfolge wie GET /gegenstaende: wichtigkeit, name, id
+    const cmp = (x, y) => (x < y ? -1 : x > y ? 1 : 0);
+    return [...syncState.items.values()].sort((a, b) =>
+        cmp(a.wichtigkeit, b.wichtigkeit) || cmp(a.name, b.name) || a.id - b.id);
+}
+
+// Serverseitige Suche (Name + Ort, tippfehlertolerant), Treffer nach Relevanz
+export async function searchGegenstaende(q, { page = 0, size = 100 } = {}) {
+    const params = new URLSearchParams({ q, page: String(page), size: String(size) });
+    return apiFetch(`/gegenstaende/search?${params}`, { method: "GET" });
+}
+
+// Kennzahlen fürs Insight-Panel (Zählungen/Summen macht der Server per GROUP BY)
+export async function getGegenstandStats() {
+    return apiFetch("/gegenstaende/stats", { method: "GET" });
 }
 
 export async function createGegenstand(payload) {
@@ -145,9 +288,11 @@ export async function createGegenstand(payload) {
     });
 }
 
-export async function updateGegenstand(id, payload) {
+// version (aus GET) als If-Match: hat jemand anderes dazwischen geändert, kommt 409 mit err.data.current
+export async function updateGegenstand(id, payload, version) {
     return apiFetch(`/gegenstaende/${id}`, {
         method: "PUT",
+        headers: version != null ? { "If-Match": `"${version}"` } : {},
         body: JSON.stringify(payload),
     });
 }
@@ -158,6 +303,72 @@ export async function deleteGegenstand(id) {
     });
 }
 
+// Export als Datei (csv | ndjson) – gibt ein Blob zurück, z.B. für einen Download-Link
+export async function exportGegenstaende(format = "csv") {
+    const download = (token) =>
+        fetch(buildUrl(`/gegenstaende/export?format=${encodeURIComponent(format)}`), {
+            headers: token ? { Authorization: `Bearer ${token}` } : {},
+        });
+    const token = getToken();
+    let res = await download(token);
+    if (res.status === 401 && (await refreshAccessToken(token))) res = await download(getToken());
+    if (!res.ok) throw new Error(`HTTP ${res.status}`);
+    return res.blob();
+}
+
+// -------- Notifications (Server-Sent Events) --------
+// EventSource kann keinen Authorization-Header schicken, deshalb fetch + Stream lesen.
+// Verbindet nach Abbruch neu und schickt Last-Event-ID, damit nichts verloren geht.
+export function streamNotifications(onNotification, { retryMs = 5000 } = {}) {
+    const controller = new AbortController();
+    let lastEventId = null;
+
+    async function connect() {
+        while (!controller.signal.aborted) {
+            try {
+                const headers = { Accept: "text/event-stream" };
+                const token = getToken();
+                if (token) headers["Authorization"] = `Bearer ${token}`;
+                if (lastEventId) headers["Last-Event-ID"] = lastEventId;
+
+                const res = await fetch(buildUrl("/notifications/stream"), { headers, signal: controller.signal });
+                if (res.status === 401) await refreshAccessToken(token); // nächster Versuch mit neuem Token
+                if (!res.ok || !res.body) throw new Error(`HTTP ${res.status}`);
+
+                const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = "";
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value;
+
+                    // Events sind durch Leerzeile getrennt
+                    let sep;
+                    while ((sep = buffer.indexOf("\n\n")) >= 0) {
+                        const raw = buffer.slice(0, sep);
+                        buffer = buffer.slice(sep + 2);
+
+                        let id = null;
+                        let data = "";
+                        for (const line of raw.split("\n")) {
+                            if (line.startsWith("id:")) id = line.slice(3).trim();
+                            else if (line.startsWith("data:")) data += line.slice(5).trim();
+                        }
+                        if (id) lastEventId = id;
+                        if (data) onNotification(JSON.parse(data));
+                    }
+                }
+            } catch (e) {
+                if (controller.signal.aborted) return;
+            }
+            await new Promise((r) => setTimeout(r, retryMs));
+        }
+    }
+
+    connect();
+    return () => controller.abort();
+}
+
 // -------- optional: current user --------
 export async function me() {
     return apiFetch("/api/me", { method: "GET" });
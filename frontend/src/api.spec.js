@@ -0,0 +1,108 @@
+import { describe, it, expect, vi, beforeEach } from 'vitest'
+
+// localStorage wie im Browser: eine Map, die sich alle "Tabs" (Modul-Instanzen) teilen
+const createStorage = () => {
+    const data = new Map()
+    return {
+        getItem: (key) => (data.has(key) ? data.get(key) : null),
+        setItem: (key, value) => data.set(key, String(value)),
+        removeItem: (key) => data.delete(key),
+        clear: () => data.clear(),
+    }
+}
+
+// Web Locks: ein globaler Mutex pro Name (reicht für einen Namen)
+const createLocks = () => {
+    let chain = Promise.resolve()
+    return {
+        request: (name, callback) => {
+            const run = chain.then(() => callback())
+            chain = run.catch(() => {})
+            return run
+        },
+    }
+}
+
+const jsonResponse = (status, data) => ({
+    ok: status >= 200 && status < 300,
+    status,
+    headers: new Headers(),
+    json: () => Promise.resolve(data),
+    text: () => Promise.resolve(data == null ? '' : JSON.stringify(data)),
+})
+
+// Server: Access-Token "new" gilt, Refresh-Token "r1" ist genau einmal gültig (zweite Nutzung = Diebstahl)
+const createServer = () => {
+    const usedRefreshTokens = new Set()
+    const calls = { refresh: 0 }
+    const fetchMock = vi.fn(async (url, options = {}) => {
+        if (String(url).endsWith('/auth/refresh')) {
+            calls.refresh++
+            const { refreshToken } = JSON.parse(options.body)
+            if (refreshToken !== 'r1' || usedRefreshTokens.has(refreshToken)) return jsonResponse(401, null)
+            usedRefreshTokens.add(refreshToken)
+            return jsonResponse(200, { token: 'new', refreshToken: 'r2' })
+        }
+        const auth = options.headers?.Authorization
+        return auth === 'Bearer new' ? jsonResponse(200, [{ id: 1 }]) : jsonResponse(401, null)
+    })
+    return { fetchMock, calls }
+}
+
+// jede Modul-Instanz = ein Browser-Tab (eigener In-Memory-Zustand, gemeinsamer localStorage)
+const openTab = async () => {
+    vi.resetModules()
+    return import('./api.js')
+}
+
+describe('Token-Refresh', () => {
+    let server
+
+    beforeEach(() => {
+        vi.unstubAllGlobals()
+        const storage = createStorage()
+        storage.setItem('token', 'old')
+        storage.setItem('refreshToken', 'r1')
+        vi.stubGlobal('localStorage', storage)
+        vi.stubGlobal('navigator', { locks: createLocks() })
+        server = createServer()
+        vi.stubGlobal('fetch', server.fetchMock)
+    })
+
+    it('teilt sich im selben Tab einen Refresh', async () => {
+        const api = await openTab()
+
+        const [a, b] = await Promise.all([api.apiFetch('/gegenstaende'), api.apiFetch('/gegenstaende')])
+
+        expect(a).toEqual([{ id: 1 }])
+        expect(b).toEqual([{ id: 1 }])
+        expect(server.calls.refresh).toBe(1)
+        expect(localStorage.getItem('refreshToken')).toBe('r2')
+    })
+
+    it('zwei Tabs refreshen gleichzeitig nur einmal (kein Logout durch Wiederverwendung)', async () => {
+        const tabA = await openTab()
+        const tabB = await openTab()
+        expect(tabA).not.toBe(tabB)
+
+        const [a, b] = await Promise.all([tabA.apiFetch('/gegenstaende'), tabB.apiFetch('/gegenstaende')])
+
+        expect(a).toEqual([{ id: 1 }])
+        expect(b).toEqual([{ id: 1 }])
+        expect(server.calls.refresh).toBe(1)
+        expect(localStorage.getItem('token')).toBe('new')
+    })
+
+    it('nimmt das Token, das ein anderer Tab schon geholt hat', async () => {
+        const api = await openTab()
+        server.fetchMock.mockImplementationOnce(async () => {
+            // während der Request lief, hat ein anderer Tab refresht
+            localStorage.setItem('token', 'new')
+            localStorage.setItem('refreshToken', 'r2')
+            return jsonResponse(401, null)
+        })
+
+        expect(await api.apiFetch('/gegenstaende')).toEqual([{ id: 1 }])
+        expect(server.calls.refresh).toBe(0)
+    })
+})
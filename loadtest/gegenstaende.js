@@ -0,0 +1,94 @@
+// Lasttest (k6, https://k6.io): 1000 gleichzeitige Clients gegen die Gegenstand-Endpoints.
+//
+// Vergleich Plattform- vs. virtuelle Threads – beide Male gegen dieselbe Postgres-DB:
+//   ./gradlew bootRun                    && k6 run -e MODE=platform loadtest/gegenstaende.js
+//   ./gradlew bootRun -PvirtualThreads   && k6 run -e MODE=virtual  loadtest/gegenstaende.js
+// Ergebnis je Lauf: loadtest/results-<MODE>.json (http_reqs/s, http_req_duration p95/p99, Fehlerquote).
+// Parallel lohnt ein Blick auf hikaricp_connections_pending unter /actuator/prometheus:
+// mit virtuellen Threads staut es sich dort statt in Tomcats Thread-Pool (max. connection-timeout, dann 503).
+//
+// Optionen: -e BASE_URL=http://localhost:8080 -e VUS=1000 -e DURATION=2m -e USERS=50 -e ITEMS=200
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'platform';
+const USERS = Number(__ENV.USERS || 50);
+const ITEMS = Number(__ENV.ITEMS || 200);
+
+export const options = {
+    scenarios: {
+        clients: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 1000),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(95)', 'p(99)', 'max'],
+    setupTimeout: '5m',
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+function item(i) {
+    return {
+        name: `Last ${i}`,
+        ort: i % 2 === 0 ? 'Keller' : 'Dachboden',
+        wichtigkeit: 'WICHTIG',
+        kategorie: 'HAUSHALT',
+    };
+}
+
+// Test-User anlegen (oder einloggen, falls es sie vom letzten Lauf noch gibt) und mit Gegenständen füllen
+export function setup() {
+    const users = [];
+    for (let u = 0; u < USERS; u++) {
+        const creds = { name: `Last ${u}`, email: `last-${u}@loadtest.local`, password: 'loadtest' };
+        let res = http.post(`${BASE_URL}/auth/register`, JSON.stringify(creds), { headers: JSON_HEADERS });
+        if (res.status !== 200) {
+            res = http.post(`${BASE_URL}/auth/login`, JSON.stringify(creds), { headers: JSON_HEADERS });
+        }
+        const token = res.json('token');
+        const auth = { ...JSON_HEADERS, Authorization: `Bearer ${token}` };
+
+        let ids = http.get(`${BASE_URL}/gegenstaende?limit=500`, { headers: auth }).json().map((g) => g.id);
+        if (ids.length < ITEMS) {
+            const batch = [];
+            for (let i = ids.length; i < ITEMS; i++) batch.push(item(i));
+            const created = http.post(`${BASE_URL}/gegenstaende/batch`, JSON.stringify(batch), { headers: auth });
+            ids = ids.concat(created.json().map((r) => r.id));
+        }
+        users.push({ auth, ids });
+    }
+    return { users };
+}
+
+// Mischung wie im Frontend: meist Liste lesen, ab und zu Kennzahlen, selten ändern
+export default function (data) {
+    const user = data.users[(__VU - 1) % data.users.length];
+    const r = Math.random();
+
+    if (r < 0.7) {
+        const res = http.get(`${BASE_URL}/gegenstaende?limit=100`, { headers: user.auth, tags: { name: 'list' } });
+        check(res, { 'list 200': (x) => x.status === 200 });
+    } else if (r < 0.9) {
+        const res = http.get(`${BASE_URL}/gegenstaende/stats`, { headers: user.auth, tags: { name: 'stats' } });
+        check(res, { 'stats 200': (x) => x.status === 200 });
+    } else {
+        const i = Math.floor(Math.random() * user.ids.length);
+        const res = http.put(`${BASE_URL}/gegenstaende/${user.ids[i]}`, JSON.stringify(item(i)),
+            { headers: user.auth, tags: { name: 'update' } });
+        check(res, { 'update 200': (x) => x.status === 200 });
+    }
+}
+
+export function handleSummary(data) {
+    return {
+        [`loadtest/results-${MODE}.json`]: JSON.stringify(data, null, 2),
+        stdout: `\n${MODE}: ${data.metrics.http_reqs.values.rate.toFixed(1)} req/s, `
+            + `p95 ${data.metrics.http_req_duration.values['p(95)'].toFixed(1)} ms, `
+            + `p99 ${data.metrics.http_req_duration.values['p(99)'].toFixed(1)} ms, `
+            + `Fehler ${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)} %\n`,
+    };
+}
@@ -0,0 +1,31 @@
+package com.example.demo;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Startet die App ohne Webserver gegen eine frische H2-In-Memory-DB (für Benchmarks über Service/Repository).
+ */
+public final class BenchContext {
+
+    private BenchContext() {}
+
+    public static ConfigurableApplicationContext start(String dbName) {
+        // als Command-Line-Args, damit sie application.properties (Render-Postgres) überschreiben
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.flyway.enabled=false",
+                        "--app.frontend.success-url=http://localhost",
+                        "--app.reminder.enabled=false",
+                        "--logging.level.root=WARN"
+                );
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson-Serialisierung der Gegenstand-Liste: Entities (alt) vs. GegenstandView (so wie GET /gegenstaende sie rausschreibt).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GegenstandJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Gegenstand> items;
+    private List<GegenstandView> views;
+
+    @Setup
+    public void setUp() {
+        // gleiche Defaults wie der ObjectMapper von Spring Boot (JavaTimeModule, ISO-Daten)
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new Gegenstand(
+                    "Gegenstand " + i,
+                    "Keller",
+                    Wichtigkeit.values()[i % Wichtigkeit.values().length],
+                    GegenstandKategorie.values()[i % GegenstandKategorie.values().length],
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                    new BigDecimal("19.99"),
+                    new BigDecimal("9.50")
+            ));
+        }
+        views = items.stream().map(GegenstandView::of).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] serializeViewList() throws Exception {
+        return mapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lese-Pfad von GET /gegenstaende pro Request (Query + JSON): Entities im Persistence Context (alt)
+ * vs. readOnly + GegenstandView. Allokationen pro Request mit {@code ./gradlew jmh -PjmhIncludes=GegenstandRead -PjmhProfilers=gc}
+ * (gc.alloc.rate.norm).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GegenstandReadBenchmark {
+
+    @Param({"100", "1000"})
+    public int itemsPerUser;
+
+    private ConfigurableApplicationContext ctx;
+    private GegenstandService service;
+    private GegenstandRepository repo;
+    private TransactionTemplate tx;
+    private ObjectMapper mapper;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start("read" + itemsPerUser);
+        service = ctx.getBean(GegenstandService.class);
+        repo = ctx.getBean(GegenstandRepository.class);
+        tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+        mapper = ctx.getBean(ObjectMapper.class);
+
+        userId = ctx.getBean(AppUserRepository.class)
+                .save(new AppUser(null, "Reader", "reader@bench.de", "x")).getId();
+
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        for (int i = 0; i < itemsPerUser; i++) {
+            dto.setName("Gegenstand " + i);
+            service.createForUser(userId, dto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    // so lief GET /gegenstaende vorher: managed Entities (Snapshot + Dirty-Check beim Commit)
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return mapper.writeValueAsBytes(tx.execute(s -> repo.findAllByOwner_Id(userId)));
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return mapper.writeValueAsBytes(service.getAllForUser(userId));
+    }
+}
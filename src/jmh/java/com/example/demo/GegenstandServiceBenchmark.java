@@ -0,0 +1,67 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD-Hotpath über den echten Spring-Context (H2): anlegen und Liste lesen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GegenstandServiceBenchmark {
+
+    @Param({"100", "1000"})
+    public int itemsPerUser;
+
+    private ConfigurableApplicationContext ctx;
+    private GegenstandService service;
+    private Long readerId;
+    private Long writerId;
+    private GegenstandCreateDto dto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start("crud" + itemsPerUser);
+        service = ctx.getBean(GegenstandService.class);
+        AppUserRepository users = ctx.getBean(AppUserRepository.class);
+
+        readerId = users.save(new AppUser(null, "Reader", "reader@bench.de", "x")).getId();
+        writerId = users.save(new AppUser(null, "Writer", "writer@bench.de", "x")).getId();
+
+        dto = new GegenstandCreateDto();
+        dto.setName("Bench");
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+
+        for (int i = 0; i < itemsPerUser; i++) {
+            service.createForUser(readerId, dto);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public Gegenstand createForUser() {
+        return service.createForUser(writerId, dto);
+    }
+
+    @Benchmark
+    public List<GegenstandView> getAllForUser() {
+        return service.getAllForUser(readerId);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /gegenstaende je Accept-Header: Kodieren/Dekodieren einer GegenstandView-Liste als JSON, JSON + Blackbird,
+ * CBOR und Smile (beide binär mit Blackbird, so wie WireFormatConfig sie registriert).
+ *
+ * Die Payload-Größe steht einmal pro Trial im Log ("payload ... bytes"); mit -PjmhProfilers=gc kommt
+ * gc.alloc.rate.norm dazu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GegenstandWireFormatBenchmark {
+
+    private static final TypeReference<List<GegenstandView>> VIEW_LIST = new TypeReference<>() {};
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"json", "json-blackbird", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<GegenstandView> views;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        // gleiche Defaults wie der ObjectMapper von Spring Boot (JavaTimeModule, ISO-Daten)
+        mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "json-blackbird" -> Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().modulesToInstall(new BlackbirdModule()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().modulesToInstall(new BlackbirdModule()).build();
+            default -> throw new IllegalArgumentException(format);
+        };
+
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            views.add(new GegenstandView(
+                    (long) i + 1,
+                    "Gegenstand " + i,
+                    "Keller",
+                    Wichtigkeit.values()[i % Wichtigkeit.values().length],
+                    GegenstandKategorie.values()[i % GegenstandKategorie.values().length],
+                    LocalDate.of(2024, 1, 1).plusDays(i % 365),
+                    LocalDate.of(2026, 1, 1).plusDays(i % 365),
+                    new BigDecimal("19.99"),
+                    new BigDecimal("9.50"),
+                    0L
+            ));
+        }
+        encoded = mapper.writeValueAsBytes(views);
+        System.out.printf("payload %s size=%d: %d bytes%n", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public List<GegenstandView> decode() throws Exception {
+        return mapper.readValue(encoded, VIEW_LIST);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo;
+
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ein kompletter Reminder-Lauf über N fällige Gegenstände.
+ * Vor jeder Iteration wird der Zustand zurückgesetzt (Notifications weg, erinnerung_gesendet = false).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ReminderServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int dueRows;
+
+    private ConfigurableApplicationContext ctx;
+    private ReminderService reminderService;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start("reminder" + dueRows);
+        reminderService = ctx.getBean(ReminderService.class);
+        jdbc = ctx.getBean(JdbcTemplate.class);
+
+        AppUser owner = ctx.getBean(AppUserRepository.class).save(new AppUser(null, "Owner", "owner@bench.de", "x"));
+        GegenstandRepository repo = ctx.getBean(GegenstandRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (int start = 0; start < dueRows; start += 1000) {
+            int end = Math.min(dueRows, start + 1000);
+            List<Gegenstand> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                Gegenstand g = new Gegenstand("Item " + i, "Keller", Wichtigkeit.MUELL, GegenstandKategorie.SONSTIGES,
+                        null, yesterday, null, null);
+                g.setOwner(owner);
+                chunk.add(g);
+            }
+            tx.executeWithoutResult(s -> repo.saveAll(chunk));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        jdbc.update("delete from notification");
+        jdbc.update("update gegenstand set erinnerung_gesendet = false");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public ReminderService.RunResult createDueReminders() {
+        return reminderService.createDueReminders();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.security;
+
+import com.example.demo.BenchContext;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kosten des Auth-Filters pro Request (Token prüfen + SecurityContext setzen).
+ *
+ * Vorher/Nachher: früher hat der Filter zusätzlich geprüft, ob der User noch existiert –
+ * per Caffeine-Cache (legacyUserCacheHit) bzw. bei Cache-Miss per existsById gegen die DB (legacyUserDbCheck, H2).
+ * Heute reicht die Signatur des kurzlebigen Access-Tokens (doFilter / doFilterWithoutTokenCache).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "BENCHMARK_SECRET_BENCHMARK_SECRET_123";
+
+    private ConfigurableApplicationContext ctx;
+    private AppUserRepository users;
+    private Cache<Long, Boolean> userCache;
+    private Long userId;
+
+    private JwtAuthFilter filter;
+    private JwtAuthFilter filterWithoutTokenCache;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        ctx = BenchContext.start("jwtfilter");
+        users = ctx.getBean(AppUserRepository.class);
+        userId = users.save(new AppUser(null, "Bench", "bench-jwt@test.de", "pw")).getId();
+        userCache = Caffeine.newBuilder().maximumSize(10_000).build();
+        userCache.put(userId, Boolean.TRUE);
+
+        JwtService jwt = new JwtService(SECRET, 3_600_000, true, 10_000);
+        filter = new JwtAuthFilter(jwt);
+        filterWithoutTokenCache = new JwtAuthFilter(new JwtService(SECRET, 3_600_000, false, 0));
+
+        request = new MockHttpServletRequest("GET", "/gegenstaende");
+        request.addHeader("Authorization", "Bearer " + jwt.createToken(userId));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        return run(filter);
+    }
+
+    @Benchmark
+    public Object doFilterWithoutTokenCache() throws Exception {
+        return run(filterWithoutTokenCache);
+    }
+
+    @Benchmark
+    public Object legacyUserCacheHit() throws Exception {
+        Object principal = run(filter);
+        return userCache.getIfPresent((Long) principal) != null ? principal : null;
+    }
+
+    @Benchmark
+    public Object legacyUserDbCheck() throws Exception {
+        Object principal = run(filter);
+        return users.existsById((Long) principal) ? principal : null;
+    }
+
+    private Object run(JwtAuthFilter f) throws Exception {
+        f.doFilter(request, response, chain);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alt vs. neu: Parser pro Aufruf bauen (alter JwtService.parse) vs. geteilter Parser vs. geteilter Parser + Token-Cache.
+ * Dazu createToken, weil Login/Register jedes Mal signieren.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "BENCHMARK_SECRET_BENCHMARK_SECRET_123";
+
+    private Key key;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        uncached = new JwtService(SECRET, 3_600_000, false, 0);
+        cached = new JwtService(SECRET, 3_600_000, true, 10_000);
+        token = uncached.createToken(42L);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return uncached.createToken(42L);
+    }
+
+    @Benchmark
+    public Long rebuildParserPerCall() {
+        String subject = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+        return Long.valueOf(subject);
+    }
+
+    @Benchmark
+    public Long sharedParser() {
+        return uncached.verifyUserId(token);
+    }
+
+    @Benchmark
+    public Long sharedParserWithCache() {
+        return cached.verifyUserId(token);
+    }
+}
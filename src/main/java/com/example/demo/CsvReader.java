@@ -0,0 +1,101 @@
+package com.example.demo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimaler RFC-4180-Leser: ein Datensatz pro {@link #next()}, Felder in "..." dürfen Kommas,
+ * doppelte Quotes ("") und Zeilenumbrüche enthalten. Liest zeichenweise, hält also nie die ganze Datei im Speicher –
+ * und von einem Datensatz höchstens {@code maxRecordChars} Zeichen (sonst reicht ein offenes " für einen OOM).
+ */
+class CsvReader {
+
+    static final int DEFAULT_MAX_RECORD_CHARS = 4096;
+
+    private final Reader in;
+    private final int maxRecordChars;
+    private int line = 0;      // Zeile, in der der zuletzt gelesene Datensatz beginnt
+    private int nextLine = 1;
+    private boolean tooLong;
+
+    CsvReader(Reader in) {
+        this(in, DEFAULT_MAX_RECORD_CHARS);
+    }
+
+    CsvReader(Reader in, int maxRecordChars) {
+        this.in = in;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    int line() {
+        return line;
+    }
+
+    /** true, wenn der zuletzt gelesene Datensatz zu lang war – er wurde überlesen, {@link #next()} gab eine leere Liste */
+    boolean tooLong() {
+        return tooLong;
+    }
+
+    /** @return Felder des nächsten Datensatzes oder null am Dateiende */
+    List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) return null;
+
+        line = nextLine;
+        tooLong = false;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int fieldChars = 0; // zählt auch nach tooLong weiter, damit "..." richtig erkannt wird
+        int chars = 0;
+        boolean quoted = false;
+
+        while (c != -1) {
+            if (++chars > maxRecordChars && !tooLong) {
+                // ab hier nur noch bis zum Ende des Datensatzes weiterlesen, nichts mehr puffern
+                tooLong = true;
+                fields.clear();
+                field.setLength(0);
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int peek = in.read();
+                    if (peek == '"') {
+                        fieldChars = append(field, '"', fieldChars);
+                    } else {
+                        quoted = false;
+                        c = peek;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') nextLine++;
+                    fieldChars = append(field, (char) c, fieldChars);
+                }
+            } else if (c == '"' && fieldChars == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                if (!tooLong) fields.add(field.toString());
+                field.setLength(0);
+                fieldChars = 0;
+            } else if (c == '\n') {
+                nextLine++;
+                break;
+            } else if (c != '\r') {
+                fieldChars = append(field, (char) c, fieldChars);
+            }
+            c = in.read();
+        }
+
+        if (tooLong) {
+            return List.of();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int append(StringBuilder field, char c, int fieldChars) {
+        if (!tooLong) field.append(c);
+        return fieldChars + 1;
+    }
+}
@@ -5,15 +5,24 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
+// Indizes: siehe db/migration/V4__performance_indexes.sql
+// Gelöschte Gegenstände bleiben als Tombstone stehen (für GET /gegenstaende/changes), sind für JPA aber unsichtbar
 @Entity
+@SQLRestriction("deleted = false")
 public class Gegenstand {
 
+    // Sequence statt IDENTITY: Hibernate holt 50 ids auf einmal (pooled-lo) und kann INSERTs als JDBC-Batch schicken
+    // (Sequence + Startwert für bestehende DBs: db/migration/V3__id_sequences.sql)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gegenstand_seq")
+    @SequenceGenerator(name = "gegenstand_seq", sequenceName = "gegenstand_seq", allocationSize = 50)
     private Long id;
 
     // ✅ Owner (User)
@@ -32,6 +41,11 @@ public class Gegenstand {
     @Enumerated(EnumType.STRING)
     private Wichtigkeit wichtigkeit;
 
+    // Sortierschlüssel der Liste, immer = Wichtigkeit.rangVon(wichtigkeit) (V11__gegenstand_wichtigkeit_rang.sql)
+    @JsonIgnore
+    @Column(name = "wichtigkeit_rang", nullable = false)
+    private int wichtigkeitRang = Wichtigkeit.OHNE_RANG;
+
     @NotNull
     @Enumerated(EnumType.STRING)
     private GegenstandKategorie kategorie;
@@ -45,6 +59,20 @@ public class Gegenstand {
     private Boolean erinnerungAktiv = true;
     private Boolean erinnerungGesendet = false;
 
+    // Delta-Sync: bei jedem INSERT/UPDATE neu gesetzt, beim Soft-Delete per Query
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean deleted = false;
+
+    // Optimistic Locking: UPDATE ... WHERE version = ?, parallele Änderungen enden in einem Konflikt statt sich zu überschreiben
+    // (Spalte: db/migration/V7__gegenstand_version.sql)
+    @Version
+    private Long version;
+
     protected Gegenstand() {}
 
     public Gegenstand(
@@ -59,7 +87,7 @@ public class Gegenstand {
     ) {
         this.name = name;
         this.ort = ort;
-        this.wichtigkeit = wichtigkeit;
+        setWichtigkeit(wichtigkeit);
         this.kategorie = kategorie;
         this.lastUsed = lastUsed;
         this.wegwerfAm = wegwerfAm;
@@ -79,7 +107,10 @@ public class Gegenstand {
     public void setOrt(String ort) { this.ort = ort; }
 
     public Wichtigkeit getWichtigkeit() { return wichtigkeit; }
-    public void setWichtigkeit(Wichtigkeit wichtigkeit) { this.wichtigkeit = wichtigkeit; }
+    public void setWichtigkeit(Wichtigkeit wichtigkeit) {
+        this.wichtigkeit = wichtigkeit;
+        this.wichtigkeitRang = Wichtigkeit.rangVon(wichtigkeit);
+    }
 
     public GegenstandKategorie getKategorie() { return kategorie; }
     public void setKategorie(GegenstandKategorie kategorie) { this.kategorie = kategorie; }
@@ -102,6 +133,12 @@ public class Gegenstand {
     public Boolean getErinnerungGesendet() { return erinnerungGesendet; }
     public void setErinnerungGesendet(Boolean v) { this.erinnerungGesendet = v; }
 
+    public Instant getUpdatedAt() { return updatedAt; }
+
+    public boolean isDeleted() { return deleted; }
+
+    public Long getVersion() { return version; }
+
     public boolean isErinnerungAktivTrue() { return Boolean.TRUE.equals(erinnerungAktiv); }
     public boolean isErinnerungGesendetTrue() { return Boolean.TRUE.equals(erinnerungGesendet); }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.demo;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.GegenstandBatchUpdateDto;
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/gegenstaende/batch")
+public class GegenstandBatchController {
+
+    private final GegenstandBatchService service;
+    private final int maxItems;
+
+    public GegenstandBatchController(GegenstandBatchService service,
+                                     @Value("${app.batch.max-items:1000}") int maxItems) {
+        this.service = service;
+        this.maxItems = maxItems;
+    }
+
+    @PostMapping
+    public List<BatchItemResult> create(@RequestBody List<GegenstandCreateDto> dtos) {
+        checkSize(dtos);
+        return service.createForUser(CurrentUser.idOrThrow(), dtos);
+    }
+
+    @PutMapping
+    public List<BatchItemResult> update(@RequestBody List<GegenstandBatchUpdateDto> dtos) {
+        checkSize(dtos);
+        return service.updateForUser(CurrentUser.idOrThrow(), dtos);
+    }
+
+    // DELETE /gegenstaende/batch?ids=1,2,3
+    @DeleteMapping
+    public List<BatchItemResult> delete(@RequestParam List<Long> ids) {
+        checkSize(ids);
+        return service.deleteForUser(CurrentUser.idOrThrow(), ids);
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch ist leer");
+        }
+        if (items.size() > maxItems) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Max. " + maxItems + " Elemente pro Batch");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.BatchItemResult.Status;
+import com.example.demo.dto.GegenstandBatchUpdateDto;
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch-Varianten von create/update/delete: alles in einer Transaktion, set-basiert bzw. als JDBC-Batch,
+ * mit Ergebnis pro Element (ungültige Elemente brechen den Rest nicht ab).
+ */
+@Service
+public class GegenstandBatchService {
+
+    private final GegenstandRepository repo;
+    private final AppUserRepository userRepo;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+
+    public GegenstandBatchService(GegenstandRepository repo, AppUserRepository userRepo, Validator validator,
+                                  ApplicationEventPublisher events) {
+        this.repo = repo;
+        this.userRepo = userRepo;
+        this.validator = validator;
+        this.events = events;
+    }
+
+    @Transactional
+    public List<BatchItemResult> createForUser(Long userId, List<GegenstandCreateDto> dtos) {
+        AppUser owner = userRepo.getReferenceById(userId); // nur Referenz, kein SELECT
+
+        BatchItemResult[] results = new BatchItemResult[dtos.size()];
+        List<Gegenstand> toSave = new ArrayList<>(dtos.size());
+        List<Integer> positions = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            GegenstandCreateDto dto = dtos.get(i);
+            Map<String, String> errors = validate(dto);
+            if (!errors.isEmpty()) {
+                results[i] = BatchItemResult.invalid(i, null, errors);
+                continue;
+            }
+            Gegenstand g = new Gegenstand();
+            g.setOwner(owner);
+            GegenstandService.applyDto(g, dto);
+            toSave.add(g);
+            positions.add(i);
+        }
+
+        repo.saveAll(toSave);
+        if (!toSave.isEmpty()) {
+            events.publishEvent(new GegenstandChangedEvent(userId));
+        }
+
+        for (int k = 0; k < toSave.size(); k++) {
+            int i = positions.get(k);
+            results[i] = BatchItemResult.ok(i, toSave.get(k).getId(), Status.CREATED);
+        }
+        return Arrays.asList(results);
+    }
+
+    @Transactional
+    public List<BatchItemResult> updateForUser(Long userId, List<GegenstandBatchUpdateDto> dtos) {
+        // null-Elemente erst in validate() als INVALID melden, nicht hier mit einer NPE den ganzen Batch abbrechen
+        List<Long> ids = dtos.stream().filter(Objects::nonNull)
+                .map(GegenstandBatchUpdateDto::getId).filter(Objects::nonNull).toList();
+
+        // ein SELECT für alle; Änderungen landen per Dirty-Checking beim Commit als (gebatchte) UPDATEs
+        Map<Long, Gegenstand> owned = ids.isEmpty()
+                ? Map.of()
+                : repo.findAllByOwner_IdAndIdIn(userId, ids).stream()
+                        .collect(Collectors.toMap(Gegenstand::getId, Function.identity()));
+
+        List<BatchItemResult> results = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            GegenstandBatchUpdateDto dto = dtos.get(i);
+            Map<String, String> errors = validate(dto);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.invalid(i, dto != null ? dto.getId() : null, errors));
+                continue;
+            }
+            Gegenstand g = owned.get(dto.getId());
+            if (g == null) {
+                results.add(BatchItemResult.ok(i, dto.getId(), Status.NOT_FOUND));
+                continue;
+            }
+            if (dto.getVersion() != null && !dto.getVersion().equals(g.getVersion())) {
+                results.add(BatchItemResult.ok(i, g.getId(), Status.CONFLICT));
+                continue;
+            }
+            GegenstandService.applyDto(g, dto);
+            results.add(BatchItemResult.ok(i, g.getId(), Status.UPDATED));
+        }
+        if (!owned.isEmpty()) {
+            events.publishEvent(new GegenstandChangedEvent(userId));
+        }
+        return results;
+    }
+
+    @Transactional
+    public List<BatchItemResult> deleteForUser(Long userId, List<Long> ids) {
+        Set<Long> owned = ids.isEmpty() ? Set.of() : repo.findOwnedIds(userId, ids);
+        if (!owned.isEmpty()) {
+            repo.softDeleteOwned(userId, owned, Instant.now()); // ein UPDATE ... WHERE owner_id = ? AND id IN (...)
+            events.publishEvent(new GegenstandChangedEvent(userId));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            results.add(BatchItemResult.ok(i, id, owned.contains(id) ? Status.DELETED : Status.NOT_FOUND));
+        }
+        return results;
+    }
+
+    // gleiche Regeln wie @Valid auf GegenstandCreateDto
+    private Map<String, String> validate(Object dto) {
+        if (dto == null) {
+            return Map.of("", "darf nicht null sein");
+        }
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<Object> v : validator.validate(dto)) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return errors;
+    }
+}
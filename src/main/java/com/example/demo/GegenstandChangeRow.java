@@ -0,0 +1,23 @@
+package com.example.demo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Zeile aus {@link GegenstandRepository#findChangesSince} (native Query, Spalten per Alias zugeordnet).
+ */
+public interface GegenstandChangeRow {
+    Long getId();
+    String getName();
+    String getOrt();
+    Wichtigkeit getWichtigkeit();
+    GegenstandKategorie getKategorie();
+    LocalDate getLastUsed();
+    LocalDate getWegwerfAm();
+    BigDecimal getKaufpreis();
+    BigDecimal getWunschVerkaufpreis();
+    Long getVersion();
+    boolean getDeleted();
+    Instant getUpdatedAt();
+}
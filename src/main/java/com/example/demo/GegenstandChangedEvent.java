@@ -0,0 +1,7 @@
+package com.example.demo;
+
+/**
+ * Gegenstände eines Users wurden angelegt, geändert oder gelöscht (GegenstandService, Batch, Import).
+ * Listener hängen sich mit @TransactionalEventListener an den Commit, z.B. um Caches zu leeren.
+ */
+public record GegenstandChangedEvent(Long ownerId) {}
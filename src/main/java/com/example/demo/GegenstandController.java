@@ -1,54 +1,135 @@
 package com.example.demo;
 
 import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandFilter;
+import com.example.demo.dto.GegenstandPage;
+import com.example.demo.dto.GegenstandView;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/gegenstaende")
 public class GegenstandController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_LIMIT = 500;
+
+    // Daten eines Users: nur im Browser-Cache, vor jeder Nutzung mit dem ETag nachfragen
+    // (Vary: Accept – JSON und CBOR/Smile derselben URL sind getrennte Cache-Einträge, siehe WireFormatConfig)
+    static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final GegenstandService service;
 
     public GegenstandController(GegenstandService service) {
         this.service = service;
     }
 
+    /**
+     * Keyset-Pagination: Body bleibt eine Liste, der Cursor für die nächste Seite kommt im Header X-Next-Cursor
+     * (fehlt er, ist das die letzte Seite).
+     * ETag aus dem Datenstand des Users: unverändert + passendes If-None-Match → 304 ohne Body.
+     */
     @GetMapping
-    public List<Gegenstand> getAlleGegenstaende() {
+    public ResponseEntity<List<GegenstandView>> getAlleGegenstaende(
+            @RequestParam(required = false) GegenstandKategorie kategorie,
+            @RequestParam(required = false) Wichtigkeit wichtigkeit,
+            @RequestParam(required = false) String ort,
+            @RequestParam(required = false) String name, // Prefix-Suche
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate wegwerfVon,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate wegwerfBis,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            WebRequest request
+    ) {
         Long userId = currentUserIdOrThrow();
-        return service.getAllForUser(userId);
+
+        GegenstandCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = GegenstandCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Cursor");
+            }
+        }
+
+        var filter = new GegenstandFilter(kategorie, wichtigkeit, ort, name, wegwerfVon, wegwerfBis);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        String etag = service.listEtag(userId,
+                filter + "|" + cursor + "|" + pageSize + "|" + WireFormatConfig.negotiatedFormat(request));
+        if (request.checkNotModified(etag)) {
+            return null; // 304, Header setzt Spring
+        }
+
+        GegenstandPage<GegenstandView> page = service.getPageForUser(userId, filter, after, pageSize);
+
+        var response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE).varyBy(HttpHeaders.ACCEPT);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
+    // ETag = Version + Format ("3-cbor"), der Client schickt ihn beim PUT als If-Match zurück (und als If-None-Match → 304)
     @GetMapping("/{id}")
-    public Gegenstand getEinen(@PathVariable Long id) {
+    public ResponseEntity<GegenstandView> getEinen(@PathVariable Long id, WebRequest request) {
         Long userId = currentUserIdOrThrow();
-        return service.getByIdForUser(userId, id);
+        GegenstandView view = service.getViewForUser(userId, id);
+        String etag = etag(view.version(), WireFormatConfig.negotiatedFormat(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(PRIVATE_REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .body(view);
     }
 
     @PostMapping
-    public ResponseEntity<Gegenstand> create(@Valid @RequestBody GegenstandCreateDto dto) {
+    public ResponseEntity<GegenstandView> create(@Valid @RequestBody GegenstandCreateDto dto) {
         Long userId = currentUserIdOrThrow();
         Gegenstand created = service.createForUser(userId, dto);
 
         return ResponseEntity
                 .created(URI.create("/gegenstaende/" + created.getId()))
-                .body(created);
+                .body(GegenstandView.of(created));
     }
 
+    /**
+     * If-Match: {@code "<version>"} → Update nur, wenn niemand dazwischen geändert hat, sonst 409 mit aktuellem Stand.
+     * Ohne If-Match → 428, damit kein Client versehentlich fremde Änderungen überschreibt.
+     * {@code If-Match: *} schreibt bewusst ohne Vorbedingung (der letzte Schreiber gewinnt).
+     */
     @PutMapping("/{id}")
-    public Gegenstand update(@PathVariable Long id, @Valid @RequestBody GegenstandCreateDto dto) {
+    public ResponseEntity<GegenstandView> update(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @Valid @RequestBody GegenstandCreateDto dto,
+                                                 WebRequest request) {
         Long userId = currentUserIdOrThrow();
-        return service.updateForUser(userId, id, dto);
+        if (ifMatch == null || ifMatch.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED, "If-Match fehlt (Version aus GET oder *)");
+        }
+        GegenstandView updated = service.updateForUser(userId, id, dto, parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(etag(updated.version(), WireFormatConfig.negotiatedFormat(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -58,6 +139,34 @@ public class GegenstandController {
         return ResponseEntity.noContent().build();
     }
 
+    // Format gehört dazu, sonst bekäme eine CBOR-Anfrage mit dem ETag der JSON-Antwort ein 304
+    static String etag(Long version, String format) {
+        return "\"" + version + "-" + format + "\"";
+    }
+
+    // akzeptiert "3-json", "3", W/"3" und 3 – für die Vorbedingung zählt nur die Version; null/"*" = keine Vorbedingung
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String v = ifMatch.trim();
+        if (v.startsWith("W/")) {
+            v = v.substring(2);
+        }
+        if (v.length() >= 2 && v.startsWith("\"") && v.endsWith("\"")) {
+            v = v.substring(1, v.length() - 1);
+        }
+        int dash = v.indexOf('-');
+        if (dash > 0) {
+            v = v.substring(0, dash);
+        }
+        try {
+            return Long.parseLong(v);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger If-Match-Header");
+        }
+    }
+
     /**
      * Holt die User-ID des eingeloggten Users.
      * Wir nehmen Authentication.getName() (Email/Username) und mappen auf die interne User-ID.
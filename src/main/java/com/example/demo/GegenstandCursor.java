@@ -0,0 +1,35 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset-Cursor auf (wichtigkeit, name, id) – entspricht der Sortierung von GET /gegenstaende
+ * (nach {@link Wichtigkeit#rang()}, dann name, id).
+ * Nach außen ist er ein opaker Base64-String.
+ */
+public record GegenstandCursor(Wichtigkeit wichtigkeit, String name, Long id) {
+
+    public static GegenstandCursor of(GegenstandView v) {
+        return new GegenstandCursor(v.wichtigkeit(), v.name(), v.id());
+    }
+
+    public String encode() {
+        // name zuletzt, weil er selbst '|' enthalten darf
+        String raw = wichtigkeit.name() + "|" + id + "|" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException bei kaputtem Cursor
+     */
+    public static GegenstandCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Ungültiger Cursor");
+        }
+        return new GegenstandCursor(Wichtigkeit.valueOf(parts[0]), parts[2], Long.valueOf(parts[1]));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo;
+
+import java.time.Instant;
+
+/**
+ * Datenstand der Gegenstände eines Users: letzte Änderung, Anzahl Zeilen (inkl. Tombstones) und Summe der Versionen.
+ * Ändert sich bei jedem Anlegen/Ändern/Löschen – daraus werden ETags gebaut. Die Versionssumme ändert sich auch,
+ * wenn eine Transaktion mit älterem updated_at erst nach einer neueren committet.
+ */
+public interface GegenstandDataVersion {
+    Instant getUpdatedAt(); // null, wenn der User nie etwas angelegt hat
+    long getRows();
+    long getVersions();
+}
@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import com.example.demo.security.CurrentUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/gegenstaende/export")
+public class GegenstandExportController {
+
+    private final GegenstandExportService exportService;
+
+    public GegenstandExportController(GegenstandExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // GET /gegenstaende/export?format=csv|ndjson
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        Long userId = CurrentUser.idOrThrow();
+
+        return switch (format.toLowerCase()) {
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gegenstaende.csv\"")
+                    .body(out -> exportService.writeCsv(userId, out));
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"gegenstaende.ndjson\"")
+                    .body(out -> exportService.writeNdjson(userId, out));
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format muss csv oder ndjson sein");
+        };
+    }
+}
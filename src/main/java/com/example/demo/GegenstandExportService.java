@@ -0,0 +1,140 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Export aller Gegenstände eines Users als CSV oder NDJSON.
+ * Die Zeilen kommen per DB-Cursor (fetch size) und werden einzeln geschrieben und sofort aus dem
+ * Persistence Context entfernt – der Heap bleibt konstant, egal wie groß das Inventar ist.
+ */
+@Service
+public class GegenstandExportService {
+
+    // gleiche Spalten wie beim CSV-Import
+    static final String CSV_HEADER = "id,name,ort,wichtigkeit,kategorie,lastUsed,wegwerfAm,kaufpreis,wunschVerkaufpreis";
+    private static final int FLUSH_EVERY = 1000;
+
+    private final GegenstandRepository repo;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectWriter json;
+
+    public GegenstandExportService(GegenstandRepository repo,
+                                   EntityManager em,
+                                   PlatformTransactionManager txManager,
+                                   ObjectMapper mapper) {
+        this.repo = repo;
+        this.em = em;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        // dieselbe Sicht wie GET /gegenstaende, nur ohne version (Concurrency-Token, gehört nicht ins Backup)
+        // → NDJSON hat genau die Spalten aus CSV_HEADER
+        this.json = mapper.copy()
+                .addMixIn(GegenstandView.class, ExportView.class)
+                .writerFor(GegenstandView.class);
+    }
+
+    public void writeCsv(Long userId, OutputStream out) throws IOException {
+        Writer w = writer(out);
+        w.write(CSV_HEADER);
+        w.write('\n');
+        w.flush(); // Client bekommt sofort die ersten Bytes
+
+        streamRows(userId, w, g -> {
+            try {
+                w.write(String.valueOf(g.getId()));
+                w.write(',');
+                w.write(csv(g.getName()));
+                w.write(',');
+                w.write(csv(g.getOrt()));
+                w.write(',');
+                w.write(csv(g.getWichtigkeit()));
+                w.write(',');
+                w.write(csv(g.getKategorie()));
+                w.write(',');
+                w.write(csv(g.getLastUsed()));
+                w.write(',');
+                w.write(csv(g.getWegwerfAm()));
+                w.write(',');
+                w.write(csv(g.getKaufpreis() != null ? g.getKaufpreis().toPlainString() : null));
+                w.write(',');
+                w.write(csv(g.getWunschVerkaufpreis() != null ? g.getWunschVerkaufpreis().toPlainString() : null));
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void writeNdjson(Long userId, OutputStream out) throws IOException {
+        Writer w = writer(out);
+        streamRows(userId, w, g -> {
+            try {
+                w.write(json.writeValueAsString(GegenstandView.of(g)));
+                w.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @JsonIgnoreProperties("version")
+    private abstract static class ExportView {}
+
+    private void streamRows(Long userId, Writer w, Consumer<Gegenstand> row) throws IOException {
+        try {
+            readOnlyTx.executeWithoutResult(s -> {
+                try (Stream<Gegenstand> rows = repo.streamAllByOwner(userId)) {
+                    int[] n = {0};
+                    rows.forEach(g -> {
+                        row.accept(g);
+                        em.detach(g); // nicht im Persistence Context sammeln
+                        if (++n[0] % FLUSH_EVERY == 0) flush(w);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // z.B. Client hat abgebrochen
+        }
+        w.flush();
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private static void flush(Writer w) {
+        try {
+            w.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: in Anführungszeichen, wenn Komma/Quote/Zeilenumbruch drin ist
+    static String csv(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
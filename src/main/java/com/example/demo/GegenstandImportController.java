@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import com.example.demo.security.CurrentUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/gegenstaende/import")
+public class GegenstandImportController {
+
+    private final GegenstandImportService importService;
+
+    public GegenstandImportController(GegenstandImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Body ist die Datei selbst (kein Multipart): Content-Type text/csv oder application/x-ndjson,
+     * alternativ ?format=csv|ndjson. Wird beim Lesen verarbeitet, nicht erst komplett gepuffert.
+     */
+    @PostMapping
+    public GegenstandImportService.ImportResult importItems(
+            @RequestParam(required = false) String format,
+            @RequestHeader(name = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body
+    ) throws IOException {
+        Long userId = CurrentUser.idOrThrow();
+
+        String f = format != null ? format.toLowerCase() : formatFrom(contentType);
+        return switch (f) {
+            case "csv" -> importService.importCsv(userId, body);
+            case "ndjson" -> importService.importNdjson(userId, body);
+            default -> throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+                    "text/csv oder application/x-ndjson erwartet");
+        };
+    }
+
+    private static String formatFrom(String contentType) {
+        if (contentType == null) return "";
+        MediaType type = MediaType.parseMediaType(contentType);
+        if (type.isCompatibleWith(MediaType.parseMediaType("text/csv"))) return "csv";
+        if (type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) return "ndjson";
+        return "";
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.user.AppUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bulk-Import aus CSV (gleiche Spalten wie der Export) oder NDJSON (ein GegenstandCreateDto pro Zeile).
+ * Die Datei wird zeilenweise gelesen, jede Zeile wie bei POST /gegenstaende validiert und in Chunks
+ * per JDBC-Batch geschrieben (persist + flush + clear pro Chunk).
+ */
+@Service
+public class GegenstandImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final Validator validator;
+    private final ObjectReader ndjson;
+    private final int chunkSize;
+    private final int maxLineChars;
+    private final ApplicationEventPublisher events;
+
+    public GegenstandImportService(EntityManager em,
+                                   PlatformTransactionManager txManager,
+                                   Validator validator,
+                                   ObjectMapper mapper,
+                                   ApplicationEventPublisher events,
+                                   @Value("${app.import.chunk-size:500}") int chunkSize,
+                                   @Value("${app.import.max-line-chars:4096}") int maxLineChars) {
+        this.em = em;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.validator = validator;
+        this.ndjson = mapper.readerFor(GegenstandCreateDto.class);
+        this.chunkSize = chunkSize;
+        this.maxLineChars = maxLineChars;
+    }
+
+    public record RowError(int line, Map<String, String> errors) {}
+
+    /**
+     * @param errors nur die ersten 1000 fehlerhaften Zeilen (failed zählt alle)
+     */
+    public record ImportResult(int imported, int failed, List<RowError> errors, long durationMs, long rowsPerSecond) {}
+
+    public ImportResult importCsv(Long userId, InputStream body) throws IOException {
+        Importer importer = new Importer(userId);
+        CsvReader csv = new CsvReader(reader(body), maxLineChars);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            return importer.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("\uFEFF", ""), i); // BOM von Excel ignorieren
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (csv.tooLong()) {
+                importer.accept(csv.line(), null, tooLong());
+                continue;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) continue; // Leerzeile
+
+            Map<String, String> errors = new LinkedHashMap<>();
+            GegenstandCreateDto dto = fromCsv(record, columns, errors);
+            importer.accept(csv.line(), dto, errors);
+        }
+        return importer.finish();
+    }
+
+    public ImportResult importNdjson(Long userId, InputStream body) throws IOException {
+        Importer importer = new Importer(userId);
+        BufferedReader in = reader(body);
+
+        StringBuilder buf = new StringBuilder();
+        int line = 0;
+        int end;
+        while ((end = readLine(in, buf)) != EOF) {
+            line++;
+            if (end == TOO_LONG) {
+                importer.accept(line, null, tooLong());
+                continue;
+            }
+            String lineText = buf.toString();
+            if (lineText.isBlank()) continue;
+
+            Map<String, String> errors = new LinkedHashMap<>();
+            GegenstandCreateDto dto = null;
+            try {
+                dto = ndjson.readValue(lineText);
+            } catch (IOException e) {
+                errors.put("json", e.getOriginalMessage() != null ? e.getOriginalMessage() : "ungültiges JSON");
+            }
+            importer.accept(line, dto, errors);
+        }
+        return importer.finish();
+    }
+
+    /** Sammelt gültige Zeilen und schreibt sie chunkweise. */
+    private final class Importer {
+        private final Long userId;
+        private final long startNanos = System.nanoTime();
+        private final List<GegenstandCreateDto> chunk = new ArrayList<>(chunkSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private int imported = 0;
+        private int failed = 0;
+
+        Importer(Long userId) {
+            this.userId = userId;
+        }
+
+        void accept(int line, GegenstandCreateDto dto, Map<String, String> errors) {
+            if (dto != null && errors.isEmpty()) {
+                for (ConstraintViolation<GegenstandCreateDto> v : validator.validate(dto)) {
+                    errors.put(v.getPropertyPath().toString(), v.getMessage());
+                }
+            }
+            if (dto == null || !errors.isEmpty()) {
+                failed++;
+                if (this.errors.size() < MAX_REPORTED_ERRORS) {
+                    this.errors.add(new RowError(line, errors));
+                }
+                return;
+            }
+
+            chunk.add(dto);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        ImportResult finish() {
+            flushChunk();
+            long durationMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            return new ImportResult(imported, failed, errors, durationMs, imported * 1000L / durationMs);
+        }
+
+        private void flushChunk() {
+            if (chunk.isEmpty()) return;
+            tx.executeWithoutResult(s -> {
+                AppUser owner = em.getReference(AppUser.class, userId); // kein SELECT pro Zeile
+                for (GegenstandCreateDto dto : chunk) {
+                    Gegenstand g = new Gegenstand();
+                    g.setOwner(owner);
+                    GegenstandService.applyDto(g, dto);
+                    em.persist(g);
+                }
+                em.flush();
+                em.clear();
+                events.publishEvent(new GegenstandChangedEvent(userId));
+            });
+            imported += chunk.size();
+            chunk.clear();
+        }
+    }
+
+    private static GegenstandCreateDto fromCsv(List<String> record, Map<String, Integer> columns, Map<String, String> errors) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(field(record, columns, "name"));
+        dto.setOrt(field(record, columns, "ort"));
+        dto.setWichtigkeit(parse(record, columns, "wichtigkeit", errors, Wichtigkeit::valueOf));
+        dto.setKategorie(parse(record, columns, "kategorie", errors, GegenstandKategorie::valueOf));
+        dto.setLastUsed(parse(record, columns, "lastUsed", errors, LocalDate::parse));
+        dto.setWegwerfAm(parse(record, columns, "wegwerfAm", errors, LocalDate::parse));
+        dto.setKaufpreis(parse(record, columns, "kaufpreis", errors, BigDecimal::new));
+        dto.setWunschVerkaufpreis(parse(record, columns, "wunschVerkaufpreis", errors, BigDecimal::new));
+        return dto;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= record.size()) return null;
+        String v = record.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static <T> T parse(List<String> record, Map<String, Integer> columns, String name,
+                               Map<String, String> errors, Function<String, T> parser) {
+        String v = field(record, columns, name);
+        if (v == null) return null;
+        try {
+            return parser.apply(v);
+        } catch (RuntimeException e) {
+            errors.put(name, "ungültiger Wert: " + v);
+            return null;
+        }
+    }
+
+    private static final int EOF = -1;
+    private static final int TOO_LONG = -2;
+
+    /**
+     * Wie {@link BufferedReader#readLine()}, puffert aber höchstens maxLineChars Zeichen – der Rest einer zu langen
+     * Zeile wird bis zum Zeilenende überlesen.
+     *
+     * @return Länge der Zeile in buf, {@link #TOO_LONG} oder {@link #EOF}
+     */
+    private int readLine(BufferedReader in, StringBuilder buf) throws IOException {
+        buf.setLength(0);
+        boolean tooLong = false;
+        int c = in.read();
+        if (c == -1) return EOF;
+        while (c != -1 && c != '\n') {
+            if (c != '\r' && !tooLong) {
+                if (buf.length() >= maxLineChars) {
+                    tooLong = true;
+                    buf.setLength(0);
+                } else {
+                    buf.append((char) c);
+                }
+            }
+            c = in.read();
+        }
+        return tooLong ? TOO_LONG : buf.length();
+    }
+
+    private Map<String, String> tooLong() {
+        Map<String, String> errors = new LinkedHashMap<>();
+        errors.put("zeile", "Zeile zu lang (max. " + maxLineChars + " Zeichen)");
+        return errors;
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+    }
+}
@@ -1,26 +1,208 @@
 package com.example.demo;
 
+import com.example.demo.dto.GegenstandView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface GegenstandRepository extends CrudRepository<Gegenstand, Long> {
+public interface GegenstandRepository extends CrudRepository<Gegenstand, Long>, GegenstandRepositoryCustom {
 
     List<Gegenstand> findAll();
 
-    // Reminder-Query (unabhängig vom Owner – später evtl. filtern)
-    List<Gegenstand> findAllByWegwerfAmLessThanEqualAndErinnerungAktivTrueAndErinnerungGesendetFalse(LocalDate date);
+    // Reminder-Query (unabhängig vom Owner): ein Chunk fälliger Gegenstände, nach id sortiert (Keyset).
+    // FOR UPDATE, damit parallele Läufe dieselben Zeilen nicht doppelt verarbeiten.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select g from Gegenstand g
+            where g.wegwerfAm <= :date
+              and g.erinnerungAktiv = true
+              and g.erinnerungGesendet = false
+              and g.id > :afterId
+            order by g.id
+            """)
+    List<Gegenstand> lockDueChunk(@Param("date") LocalDate date, @Param("afterId") Long afterId, Pageable page);
+
+    // ein UPDATE für den ganzen Chunk statt save() pro Gegenstand
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Gegenstand g set g.erinnerungGesendet = true where g.id in :ids")
+    int markReminderSent(@Param("ids") Collection<Long> ids);
 
     // ✅ Multi-User: alles nur für Owner
     List<Gegenstand> findAllByOwner_Id(Long ownerId);
 
-    Optional<Gegenstand> findByIdAndOwner_Id(Long id, Long ownerId);
+    // Lese-Pfad (Liste/Detail): nur die Spalten der GegenstandView, keine Entities
+    @Query("""
+            select new com.example.demo.dto.GegenstandView(
+                g.id, g.name, g.ort, g.wichtigkeit, g.kategorie, g.lastUsed, g.wegwerfAm, g.kaufpreis, g.wunschVerkaufpreis,
+                g.version)
+            from Gegenstand g
+            where g.owner.id = :ownerId
+            order by g.wichtigkeitRang, g.name, g.id
+            """)
+    List<GegenstandView> findViewsByOwner(@Param("ownerId") Long ownerId);
+
+    @Query("""
+            select new com.example.demo.dto.GegenstandView(
+                g.id, g.name, g.ort, g.wichtigkeit, g.kategorie, g.lastUsed, g.wegwerfAm, g.kaufpreis, g.wunschVerkaufpreis,
+                g.version)
+            from Gegenstand g
+            where g.id = :id and g.owner.id = :ownerId
+            """)
+    Optional<GegenstandView> findViewByIdAndOwner(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // Suche: Zeilen zu den ids aus PostgresGegenstandSearch (Reihenfolge macht der Aufrufer)
+    @Query("""
+            select new com.example.demo.dto.GegenstandView(
+                g.id, g.name, g.ort, g.wichtigkeit, g.kategorie, g.lastUsed, g.wegwerfAm, g.kaufpreis, g.wunschVerkaufpreis,
+                g.version)
+            from Gegenstand g
+            where g.owner.id = :ownerId and g.id in :ids
+            """)
+    List<GegenstandView> findViewsByOwnerAndIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // Suche ohne Postgres (SimpleGegenstandSearch): Teilstring in name/ort, Name-Präfix zuerst
+    @Query("""
+            select new com.example.demo.dto.GegenstandView(
+                g.id, g.name, g.ort, g.wichtigkeit, g.kategorie, g.lastUsed, g.wegwerfAm, g.kaufpreis, g.wunschVerkaufpreis,
+                g.version)
+            from Gegenstand g
+            where g.owner.id = :ownerId
+              and (lower(g.name) like :contains escape '\\' or lower(g.ort) like :contains escape '\\')
+            order by case
+                         when lower(g.name) like :prefix escape '\\' then 0
+                         when lower(g.name) like :contains escape '\\' then 1
+                         else 2
+                     end,
+                     g.name, g.id
+            """)
+    List<GegenstandView> searchViews(@Param("ownerId") Long ownerId,
+                                     @Param("contains") String contains,
+                                     @Param("prefix") String prefix,
+                                     Pageable page);
+
+    // Dashboard-Statistik (GegenstandStatsService): alles per GROUP BY/Aggregat in der DB
+    @Query("select g.wichtigkeit, count(g) from Gegenstand g where g.owner.id = :ownerId group by g.wichtigkeit")
+    List<Object[]> countByWichtigkeit(@Param("ownerId") Long ownerId);
+
+    @Query("select g.kategorie, count(g) from Gegenstand g where g.owner.id = :ownerId group by g.kategorie")
+    List<Object[]> countByKategorie(@Param("ownerId") Long ownerId);
+
+    // pro Tag gruppiert (portabel für Postgres + H2), die Wochen-Buckets baut der Service
+    @Query("""
+            select g.wegwerfAm, count(g) from Gegenstand g
+            where g.owner.id = :ownerId and g.wegwerfAm between :from and :to
+            group by g.wegwerfAm
+            """)
+    List<Object[]> countByWegwerfAm(@Param("ownerId") Long ownerId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    // eine Zeile: gesamt, mit Wegwerfdatum, überfällig, Summe Kaufpreis, Summe Wunsch-Verkaufpreis
+    @Query("""
+            select count(g),
+                   count(g.wegwerfAm),
+                   coalesce(sum(case when g.wegwerfAm < :today then 1 else 0 end), 0),
+                   coalesce(sum(g.kaufpreis), 0),
+                   coalesce(sum(g.wunschVerkaufpreis), 0)
+            from Gegenstand g
+            where g.owner.id = :ownerId
+            """)
+    List<Object[]> totals(@Param("ownerId") Long ownerId, @Param("today") LocalDate today);
+
+    // Export: DB-Cursor mit fester fetch size, read-only (kein Snapshot fürs Dirty-Checking).
+    // Muss in einer Transaktion konsumiert und danach geschlossen werden.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Gegenstand g where g.owner.id = :ownerId order by g.id")
+    Stream<Gegenstand> streamAllByOwner(@Param("ownerId") Long ownerId);
+
+    List<Gegenstand> findAllByOwner_IdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    @Query("select g.id from Gegenstand g where g.owner.id = :ownerId and g.id in :ids")
+    Set<Long> findOwnedIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    // Soft-Delete: Zeile bleibt als Tombstone für den Delta-Sync.
+    // Rückgabe = betroffene Zeilen (0 → nicht gefunden/fremd/schon gelöscht)
+    @Modifying
+    @Query("""
+            update Gegenstand g set g.deleted = true, g.updatedAt = :now, g.version = g.version + 1
+            where g.owner.id = :ownerId and g.id in :ids and g.deleted = false
+            """)
+    int softDeleteOwned(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    // PUT /gegenstaende/{id} in einem Statement: Ownership + optional Version (If-Match) im WHERE.
+    // Bulk-Update → @UpdateTimestamp/@Version greifen nicht, deshalb updatedAt und version hier explizit
+    @Modifying
+    @Query("""
+            update Gegenstand g
+            set g.name = :name, g.ort = :ort, g.wichtigkeit = :wichtigkeit, g.wichtigkeitRang = :wichtigkeitRang,
+                g.kategorie = :kategorie,
+                g.lastUsed = :lastUsed, g.wegwerfAm = :wegwerfAm,
+                g.kaufpreis = :kaufpreis, g.wunschVerkaufpreis = :wunschVerkaufpreis,
+                g.updatedAt = :now, g.version = g.version + 1
+            where g.id = :id and g.owner.id = :ownerId and g.deleted = false
+              and (:expectedVersion is null or g.version = :expectedVersion)
+            """)
+    int updateOwned(@Param("ownerId") Long ownerId,
+                    @Param("id") Long id,
+                    @Param("expectedVersion") Long expectedVersion,
+                    @Param("name") String name,
+                    @Param("ort") String ort,
+                    @Param("wichtigkeit") Wichtigkeit wichtigkeit,
+                    @Param("wichtigkeitRang") int wichtigkeitRang,
+                    @Param("kategorie") GegenstandKategorie kategorie,
+                    @Param("lastUsed") LocalDate lastUsed,
+                    @Param("wegwerfAm") LocalDate wegwerfAm,
+                    @Param("kaufpreis") BigDecimal kaufpreis,
+                    @Param("wunschVerkaufpreis") BigDecimal wunschVerkaufpreis,
+                    @Param("now") Instant now);
 
-    boolean existsByIdAndOwner_Id(Long id, Long ownerId);
+    // Delta-Sync (GET /gegenstaende/changes): Keyset über (updated_at, id), inkl. Tombstones –
+    // deshalb native, die @SQLRestriction der Entity würde sie sonst ausblenden
+    @Query(value = """
+            select id as "id", name as "name", ort as "ort", wichtigkeit as "wichtigkeit", kategorie as "kategorie",
+                   last_used as "lastUsed", wegwerf_am as "wegwerfAm", kaufpreis as "kaufpreis",
+                   wunsch_verkaufpreis as "wunschVerkaufpreis", version as "version", deleted as "deleted",
+                   updated_at as "updatedAt"
+            from gegenstand
+            where owner_id = :ownerId
+              and (updated_at > :since or (updated_at = :since and id > :afterId))
+              and (:includeDeleted = true or deleted = false)
+            order by updated_at, id
+            limit :limit
+            """, nativeQuery = true)
+    List<GegenstandChangeRow> findChangesSince(@Param("ownerId") Long ownerId,
+                                               @Param("since") Instant since,
+                                               @Param("afterId") Long afterId,
+                                               @Param("includeDeleted") boolean includeDeleted,
+                                               @Param("limit") int limit);
 
-    void deleteByIdAndOwner_Id(Long id, Long ownerId);
-}
\ No newline at end of file
+    // Datenstand eines Users (für ETags). sum(version): jedes Anlegen/Ändern/Soft-Delete erhöht sie, egal in welcher
+    // Reihenfolge committet wird – max(updated_at) allein verpasst einen Commit mit älterem Zeitstempel
+    @Query(value = """
+            select max(updated_at) as "updatedAt", count(*) as "rows", cast(coalesce(sum(version), 0) as bigint) as "versions"
+            from gegenstand
+            where owner_id = :ownerId
+            """, nativeQuery = true)
+    GegenstandDataVersion findDataVersion(@Param("ownerId") Long ownerId);
+}
@@ -0,0 +1,19 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandFilter;
+import com.example.demo.dto.GegenstandView;
+
+import java.util.List;
+
+public interface GegenstandRepositoryCustom {
+
+    /**
+     * Keyset-Seite der Gegenstände eines Owners, sortiert nach (wichtigkeit, name, id).
+     * Es landen nur die Filter im SQL, die auch gesetzt sind – so bleibt der Index (owner_id, wichtigkeit, name, id) nutzbar.
+     *
+     * Geladen werden nur die Spalten der {@link GegenstandView}.
+     *
+     * @param after null = erste Seite
+     */
+    List<GegenstandView> findPage(Long ownerId, GegenstandFilter filter, GegenstandCursor after, int limit);
+}
@@ -0,0 +1,79 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandFilter;
+import com.example.demo.dto.GegenstandView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class GegenstandRepositoryImpl implements GegenstandRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<GegenstandView> findPage(Long ownerId, GegenstandFilter filter, GegenstandCursor after, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<GegenstandView> q = cb.createQuery(GegenstandView.class);
+        Root<Gegenstand> g = q.from(Gegenstand.class);
+
+        Path<Wichtigkeit> wichtigkeit = g.get("wichtigkeit");
+        Path<Integer> rang = g.get("wichtigkeitRang"); // Sortierung nach Rang, nicht nach Enum-Namen
+        Path<String> name = g.get("name");
+        Path<Long> id = g.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(g.get("owner").get("id"), ownerId));
+
+        if (filter.kategorie() != null) {
+            where.add(cb.equal(g.get("kategorie"), filter.kategorie()));
+        }
+        if (filter.wichtigkeit() != null) {
+            where.add(cb.equal(wichtigkeit, filter.wichtigkeit()));
+        }
+        if (filter.ort() != null && !filter.ort().isBlank()) {
+            where.add(cb.equal(g.get("ort"), filter.ort().trim()));
+        }
+        if (filter.namePrefix() != null && !filter.namePrefix().isBlank()) {
+            String prefix = escapeLike(filter.namePrefix().trim().toLowerCase()) + "%";
+            where.add(cb.like(cb.lower(name), prefix, '\\'));
+        }
+        Path<LocalDate> wegwerfAm = g.get("wegwerfAm");
+        if (filter.wegwerfVon() != null) {
+            where.add(cb.greaterThanOrEqualTo(wegwerfAm, filter.wegwerfVon()));
+        }
+        if (filter.wegwerfBis() != null) {
+            where.add(cb.lessThanOrEqualTo(wegwerfAm, filter.wegwerfBis()));
+        }
+
+        // (rang, name, id) > (r, n, i) – der Rang ist pro Wichtigkeit eindeutig, der Cursor braucht ihn nicht extra
+        if (after != null) {
+            int afterRang = Wichtigkeit.rangVon(after.wichtigkeit());
+            where.add(cb.or(
+                    cb.greaterThan(rang, afterRang),
+                    cb.and(cb.equal(rang, afterRang), cb.or(
+                            cb.greaterThan(name, after.name()),
+                            cb.and(cb.equal(name, after.name()), cb.greaterThan(id, after.id()))
+                    ))
+            ));
+        }
+
+        q.select(cb.construct(GegenstandView.class,
+                        id, name, g.get("ort"), wichtigkeit, g.get("kategorie"), g.get("lastUsed"), wegwerfAm,
+                        g.get("kaufpreis"), g.get("wunschVerkaufpreis"), g.get("version")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(rang), cb.asc(name), cb.asc(id));
+
+        return em.createQuery(q)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
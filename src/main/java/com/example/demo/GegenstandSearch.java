@@ -0,0 +1,14 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+
+import java.util.List;
+
+/**
+ * Suche über Name und Ort der eigenen Gegenstände, Treffer nach Relevanz sortiert.
+ * Produktiv: {@link PostgresGegenstandSearch} (Volltext + Trigramme), im Test-Profil (H2): {@link SimpleGegenstandSearch}.
+ */
+public interface GegenstandSearch {
+
+    List<GegenstandView> search(Long ownerId, String query, int offset, int limit);
+}
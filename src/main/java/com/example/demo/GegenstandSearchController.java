@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.security.CurrentUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/gegenstaende/search")
+public class GegenstandSearchController {
+
+    private static final int MAX_SIZE = 200;
+    private static final int MAX_QUERY_LENGTH = 200;
+    // Relevanzsuche ist kein Blättern durch alles – OFFSET so tief würde jede Seite die ganze Trefferliste ranken lassen
+    static final long MAX_OFFSET = 10_000;
+
+    private final GegenstandSearch search;
+
+    public GegenstandSearchController(GegenstandSearch search) {
+        this.search = search;
+    }
+
+    // GET /gegenstaende/search?q=hammr&page=0&size=50 -> Treffer nach Relevanz
+    @GetMapping
+    public List<GegenstandView> search(@RequestParam String q,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(defaultValue = "50") int size) {
+        Long userId = CurrentUser.idOrThrow();
+        if (q.isBlank()) {
+            return List.of();
+        }
+        if (q.length() > MAX_QUERY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Suchbegriff zu lang");
+        }
+
+        int limit = Math.max(1, Math.min(size, MAX_SIZE));
+        long offset = (long) Math.max(0, page) * limit; // als int würde page=Integer.MAX_VALUE überlaufen
+        if (offset > MAX_OFFSET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page zu groß (max. Offset " + MAX_OFFSET + ")");
+        }
+        return search.search(userId, q, (int) offset, limit);
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.demo;
 
 import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandFilter;
+import com.example.demo.dto.GegenstandPage;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.error.ConflictException;
 import com.example.demo.error.NotFoundException;
 import com.example.demo.user.AppUser;
 import com.example.demo.user.AppUserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // ✅ Neu hinzugefügt
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -15,19 +22,51 @@ public class GegenstandService {
 
     private final GegenstandRepository repo;
     private final AppUserRepository userRepo;
+    private final ApplicationEventPublisher events;
 
-    public GegenstandService(GegenstandRepository repo, AppUserRepository userRepo) {
+    public GegenstandService(GegenstandRepository repo, AppUserRepository userRepo, ApplicationEventPublisher events) {
         this.repo = repo;
         this.userRepo = userRepo;
+        this.events = events;
     }
 
     // ✅ Multi-User: nur eigene Gegenstände
-    public List<Gegenstand> getAllForUser(Long userId) {
-        return repo.findAllByOwner_Id(userId);
+    // Lese-Methoden: readOnly (kein Flush, Hibernate-Session read-only) + GegenstandView statt Entity
+    @Transactional(readOnly = true)
+    public List<GegenstandView> getAllForUser(Long userId) {
+        return repo.findViewsByOwner(userId);
     }
 
-    public Gegenstand getByIdForUser(Long userId, Long id) {
-        return repo.findByIdAndOwner_Id(id, userId)
+    /**
+     * Eine Seite (max. {@code limit}) der eigenen Gegenstände, sortiert nach (wichtigkeit, name, id).
+     * Es wird ein Element mehr geladen, um zu wissen, ob es eine nächste Seite gibt.
+     */
+    @Transactional(readOnly = true)
+    public GegenstandPage<GegenstandView> getPageForUser(Long userId, GegenstandFilter filter, GegenstandCursor after, int limit) {
+        List<GegenstandView> rows = repo.findPage(userId, filter, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new GegenstandPage<>(rows, null);
+        }
+        List<GegenstandView> page = rows.subList(0, limit);
+        return new GegenstandPage<>(page, GegenstandCursor.of(page.get(limit - 1)).encode());
+    }
+
+    /**
+     * Schwacher ETag für eine Listen-Antwort: Datenstand des Users (max(updated_at), Anzahl Zeilen, Summe der
+     * Versionen – fängt auch ein Update ab, das nach einem neueren committet) + Variante (Filter, Cursor, Limit). Ein Index-Lookup statt die Seite zu laden – gleich = Antwort wäre identisch.
+     * W/, damit Tomcat die Antwort noch gzippen darf (bei starkem ETag lässt er das).
+     */
+    @Transactional(readOnly = true)
+    public String listEtag(Long userId, String variant) {
+        GegenstandDataVersion v = repo.findDataVersion(userId);
+        long updated = v.getUpdatedAt() != null ? ChronoUnit.MICROS.between(Instant.EPOCH, v.getUpdatedAt()) : 0;
+        return "W/\"" + Long.toHexString(updated) + "-" + v.getRows() + "-" + Long.toHexString(v.getVersions())
+                + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    @Transactional(readOnly = true)
+    public GegenstandView getViewForUser(Long userId, Long id) {
+        return repo.findViewByIdAndOwner(id, userId)
                 .orElseThrow(() -> new NotFoundException("Gegenstand nicht gefunden: " + id));
     }
 
@@ -40,29 +79,52 @@ public class GegenstandService {
         g.setOwner(owner); // ✅ Ownership setzen
         applyDto(g, dto);
 
-        return repo.save(g);
+        Gegenstand saved = repo.save(g);
+        events.publishEvent(new GegenstandChangedEvent(userId));
+        return saved;
     }
 
-    @Transactional // ✅ Sorgt für sicheres Update
-    public Gegenstand updateForUser(Long userId, Long id, GegenstandCreateDto dto) {
-        Gegenstand g = getByIdForUser(userId, id); // ✅ Ownership check
-        applyDto(g, dto);
-        return repo.save(g);
+    /**
+     * Update in einem Statement: UPDATE ... WHERE id = ? AND owner_id = ? [AND version = ?], kein Laden vorher.
+     * {@code expectedVersion} kommt aus If-Match (null = ohne Vorbedingung).
+     * 0 Zeilen → 404, wenn es den Gegenstand (für diesen User) nicht gibt, sonst 409 mit dem aktuellen Stand.
+     */
+    @Transactional
+    public GegenstandView updateForUser(Long userId, Long id, GegenstandCreateDto dto, Long expectedVersion) {
+        int rows = repo.updateOwned(userId, id, expectedVersion,
+                dto.getName(), dto.getOrt(), dto.getWichtigkeit(), Wichtigkeit.rangVon(dto.getWichtigkeit()),
+                dto.getKategorie(), dto.getLastUsed(), dto.getWegwerfAm(), dto.getKaufpreis(), dto.getWunschVerkaufpreis(),
+                Instant.now());
+        if (rows == 0) {
+            GegenstandView current = getViewForUser(userId, id); // wirft 404
+            throw new ConflictException("Gegenstand wurde zwischenzeitlich geändert: " + id, current);
+        }
+        events.publishEvent(new GegenstandChangedEvent(userId));
+
+        if (expectedVersion != null) {
+            // neue Version ist bekannt → Antwort ohne weiteres SELECT
+            return new GegenstandView(id, dto.getName(), dto.getOrt(), dto.getWichtigkeit(), dto.getKategorie(),
+                    dto.getLastUsed(), dto.getWegwerfAm(), dto.getKaufpreis(), dto.getWunschVerkaufpreis(),
+                    expectedVersion + 1);
+        }
+        return getViewForUser(userId, id);
     }
 
-     @Transactional // ✅ FIX: Verhindert "No EntityManager with actual transaction available"
+    // ein UPDATE (Soft-Delete), die Zeilenzahl ersetzt den exists-Check
+    @Transactional
     public void deleteForUser(Long userId, Long id) {
-        if (!repo.existsByIdAndOwner_Id(id, userId)) {
+        if (repo.softDeleteOwned(userId, List.of(id), Instant.now()) == 0) {
             throw new NotFoundException("Gegenstand nicht gefunden: " + id);
         }
-        repo.deleteByIdAndOwner_Id(id, userId);
+        events.publishEvent(new GegenstandChangedEvent(userId));
     }
 
     public boolean istWegwerfbar(LocalDate lastUsed) {
         return lastUsed != null && lastUsed.isBefore(LocalDate.now().minusMonths(6));
     }
 
-    private void applyDto(Gegenstand g, GegenstandCreateDto dto) {
+    // auch vom GegenstandBatchService genutzt
+    static void applyDto(Gegenstand g, GegenstandCreateDto dto) {
         g.setName(dto.getName());
         g.setOrt(dto.getOrt());
         g.setWichtigkeit(dto.getWichtigkeit());
@@ -0,0 +1,24 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandStats;
+import com.example.demo.security.CurrentUser;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/gegenstaende/stats")
+public class GegenstandStatsController {
+
+    private final GegenstandStatsService statsService;
+
+    public GegenstandStatsController(GegenstandStatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    // GET /gegenstaende/stats -> Zahlen fürs Insight-Panel, ohne die ganze Liste zu laden
+    @GetMapping
+    public GegenstandStats stats() {
+        return statsService.getForUser(CurrentUser.idOrThrow());
+    }
+}
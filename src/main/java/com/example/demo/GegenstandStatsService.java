@@ -0,0 +1,107 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandStats;
+import com.example.demo.dto.GegenstandStats.WegwerfWoche;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Dashboard-Kennzahlen pro User, berechnet mit ein paar Aggregat-Queries statt im Browser über die ganze Liste.
+ * Pro User gecacht; geleert wird nach jedem Commit, der Gegenstände des Users ändert ({@link GegenstandChangedEvent}).
+ * Die TTL sorgt zusätzlich dafür, dass "überfällig"/Wochen nach einem Datumswechsel stimmen.
+ */
+@Service
+public class GegenstandStatsService {
+
+    private final GegenstandRepository repo;
+    private final Cache<Long, GegenstandStats> cache;
+    private final int upcomingWeeks;
+
+    public GegenstandStatsService(GegenstandRepository repo,
+                                  MeterRegistry registry,
+                                  @Value("${app.stats.cache.max-size:10000}") long maxSize,
+                                  @Value("${app.stats.cache.ttl-ms:600000}") long ttlMs,
+                                  @Value("${app.stats.upcoming-weeks:8}") int upcomingWeeks) {
+        this.repo = repo;
+        this.upcomingWeeks = upcomingWeeks;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gegenstand.stats");
+    }
+
+    public GegenstandStats getForUser(Long userId) {
+        return cache.get(userId, this::compute);
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    // erst nach dem Commit leeren, sonst könnte ein paralleler Request den alten Stand wieder cachen
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(GegenstandChangedEvent event) {
+        invalidate(event.ownerId());
+    }
+
+    private GegenstandStats compute(Long userId) {
+        LocalDate today = LocalDate.now();
+
+        Map<Wichtigkeit, Long> proWichtigkeit = new EnumMap<>(Wichtigkeit.class);
+        for (Wichtigkeit w : Wichtigkeit.values()) proWichtigkeit.put(w, 0L);
+        for (Object[] row : repo.countByWichtigkeit(userId)) {
+            if (row[0] != null) proWichtigkeit.put((Wichtigkeit) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<GegenstandKategorie, Long> proKategorie = new EnumMap<>(GegenstandKategorie.class);
+        for (GegenstandKategorie k : GegenstandKategorie.values()) proKategorie.put(k, 0L);
+        for (Object[] row : repo.countByKategorie(userId)) {
+            if (row[0] != null) proKategorie.put((GegenstandKategorie) row[0], ((Number) row[1]).longValue());
+        }
+
+        // Wochen ab Montag der aktuellen Woche; vergangene Tage dieser Woche zählen zu "überfällig", nicht hier
+        LocalDate firstWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate lastDay = firstWeek.plusWeeks(upcomingWeeks).minusDays(1);
+        long[] perWeek = new long[upcomingWeeks];
+        for (Object[] row : repo.countByWegwerfAm(userId, today, lastDay)) {
+            int week = (int) (ChronoUnit.DAYS.between(firstWeek, (LocalDate) row[0]) / 7);
+            perWeek[week] += ((Number) row[1]).longValue();
+        }
+        List<WegwerfWoche> wochen = new ArrayList<>(upcomingWeeks);
+        for (int i = 0; i < upcomingWeeks; i++) {
+            wochen.add(new WegwerfWoche(firstWeek.plusWeeks(i), perWeek[i]));
+        }
+
+        Object[] totals = repo.totals(userId, today).get(0);
+
+        return new GegenstandStats(
+                ((Number) totals[0]).longValue(),
+                proWichtigkeit,
+                proKategorie,
+                ((Number) totals[1]).longValue(),
+                ((Number) totals[2]).longValue(),
+                wochen,
+                decimal(totals[3]),
+                decimal(totals[4])
+        );
+    }
+
+    private static BigDecimal decimal(Object v) {
+        return v instanceof BigDecimal d ? d : new BigDecimal(v.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandChanges;
+import com.example.demo.security.CurrentUser;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/gegenstaende/changes")
+public class GegenstandSyncController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final GegenstandSyncService syncService;
+
+    public GegenstandSyncController(GegenstandSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * GET /gegenstaende/changes?since=&lt;token&gt; – ohne since: alles (Erstabgleich).
+     * Hat sich seit dem letzten Aufruf nichts geändert, kommt bei passendem If-None-Match ein 304 ohne Body.
+     */
+    @GetMapping
+    public ResponseEntity<GegenstandChanges> changes(@RequestParam(required = false) String since,
+                                                     @RequestParam(defaultValue = "500") int limit,
+                                                     WebRequest request) {
+        Long userId = CurrentUser.idOrThrow();
+
+        SyncToken token = null;
+        if (since != null && !since.isBlank()) {
+            try {
+                token = SyncToken.decode(since);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Sync-Token");
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        // erst der billige Versions-Check (Index auf owner_id, updated_at), Zeilen nur bei Änderungen laden
+        String etag = syncService.etag(userId, token, pageSize + "|" + WireFormatConfig.negotiatedFormat(request));
+        if (request.checkNotModified(etag)) {
+            return null; // 304, Header setzt Spring
+        }
+
+        GegenstandChanges changes = syncService.changesSince(userId, token, pageSize);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate()).varyBy(HttpHeaders.ACCEPT)
+                .body(changes);
+    }
+}
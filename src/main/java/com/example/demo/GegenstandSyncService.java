@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandChanges;
+import com.example.demo.dto.GegenstandView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta-Sync: liefert nur, was sich seit einem {@link SyncToken} geändert hat (inkl. gelöschter ids).
+ * <p>
+ * updated_at kommt von der Uhr der jeweiligen Instanz und wird vor dem Commit gesetzt – eine Transaktion kann
+ * also nach einer anderen mit späterem Zeitstempel committen. Deshalb zeigt der Token am Ende des Stroms
+ * {@code app.sync.overlap-ms} zurück: die letzten Sekunden kommen beim nächsten Aufruf noch einmal
+ * (Client ersetzt per id, doppelt ist harmlos), verspätete Commits gehen so nicht verloren.
+ */
+@Service
+public class GegenstandSyncService {
+
+    private final GegenstandRepository repo;
+    private final Duration overlap;
+
+    public GegenstandSyncService(GegenstandRepository repo,
+                                 @Value("${app.sync.overlap-ms:5000}") long overlapMs) {
+        this.repo = repo;
+        this.overlap = Duration.ofMillis(overlapMs);
+    }
+
+    /**
+     * ETag für (Datenstand des Users, since, Variante = Limit + Format): gleich = Antwort wäre identisch. Der Datenstand enthält die
+     * Versionssumme, damit ein verspäteter Commit (siehe oben) den ETag ändert und der Client das Overlap-Fenster
+     * wirklich neu liest statt ein 304 zu bekommen.
+     * Schwach (W/), weil Tomcat Antworten mit starkem ETag nicht komprimiert; If-None-Match vergleicht ohnehin schwach.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long userId, SyncToken since, String variant) {
+        GegenstandDataVersion v = repo.findDataVersion(userId);
+        long updated = v.getUpdatedAt() != null ? ChronoUnit.MICROS.between(Instant.EPOCH, v.getUpdatedAt()) : 0;
+        String position = since != null ? since.encode() : "-";
+        return "W/\"" + Long.toHexString(updated) + "-" + v.getRows() + "-" + Long.toHexString(v.getVersions())
+                + "-" + position + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    /**
+     * @param since null = Erstabgleich: alle vorhandenen Gegenstände, ohne Tombstones
+     */
+    @Transactional(readOnly = true)
+    public GegenstandChanges changesSince(Long userId, SyncToken since, int limit) {
+        SyncToken from = since != null ? since : SyncToken.START;
+        List<GegenstandChangeRow> rows = repo.findChangesSince(userId, from.updatedAt(), from.id(), since != null, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<GegenstandView> items = new ArrayList<>(rows.size());
+        List<Long> deleted = new ArrayList<>();
+        for (GegenstandChangeRow r : rows) {
+            if (r.getDeleted()) {
+                deleted.add(r.getId());
+            } else {
+                items.add(new GegenstandView(r.getId(), r.getName(), r.getOrt(), r.getWichtigkeit(), r.getKategorie(),
+                        r.getLastUsed(), r.getWegwerfAm(), r.getKaufpreis(), r.getWunschVerkaufpreis(), r.getVersion()));
+            }
+        }
+
+        SyncToken next;
+        if (rows.isEmpty()) {
+            next = from;
+        } else {
+            GegenstandChangeRow last = rows.get(rows.size() - 1);
+            next = hasMore
+                    ? new SyncToken(last.getUpdatedAt(), last.getId())
+                    : new SyncToken(last.getUpdatedAt().minus(overlap), 0L);
+        }
+        return new GegenstandChanges(items, deleted, next.encode(), hasMore);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres-Suche: Volltext über die generierte Spalte search_vector (name Gewicht A, ort Gewicht B,
+ * Präfix-Match pro Wort) plus pg_trgm-Ähnlichkeit, damit auch Tippfehler ("Hammr") treffen.
+ * Beides ist über GIN-Indizes auf (owner_id, ...) abgedeckt, siehe db/migration/V6__gegenstand_search.sql.
+ * <p>
+ * Die Query liefert nur die ids in Rang-Reihenfolge, die Zeilen kommen danach als GegenstandView per JPQL.
+ */
+@Component
+@Profile("!test")
+class PostgresGegenstandSearch implements GegenstandSearch {
+
+    private static final int MAX_TERMS = 8;
+
+    private static final String SQL = """
+            select g.id
+            from gegenstand g
+            where g.owner_id = :ownerId
+              and g.deleted = false
+              and (g.search_vector @@ to_tsquery('simple', :tsquery)
+                   or g.name % :q
+                   or :q <% g.name
+                   or g.ort % :q)
+            order by greatest(
+                         ts_rank(g.search_vector, to_tsquery('simple', :tsquery)),
+                         similarity(g.name, :q),
+                         word_similarity(:q, g.name),
+                         similarity(g.ort, :q) * 0.5) desc,
+                     g.id
+            limit :limit offset :offset
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final GegenstandRepository repo;
+
+    PostgresGegenstandSearch(GegenstandRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GegenstandView> search(Long ownerId, String query, int offset, int limit) {
+        String tsquery = toPrefixTsQuery(query);
+        if (tsquery.isEmpty()) {
+            return List.of();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Number> rows = em.createNativeQuery(SQL)
+                .setParameter("ownerId", ownerId)
+                .setParameter("tsquery", tsquery)
+                .setParameter("q", query.trim().toLowerCase(Locale.ROOT))
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = rows.stream().map(Number::longValue).toList();
+        Map<Long, GegenstandView> byId = repo.findViewsByOwnerAndIds(ownerId, ids).stream()
+                .collect(Collectors.toMap(GegenstandView::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // "Bohr masch" -> "bohr:* & masch:*" (nur Buchstaben/Ziffern, damit to_tsquery nie einen Syntaxfehler wirft)
+    static String toPrefixTsQuery(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isBlank())
+                .limit(MAX_TERMS)
+                .map(t -> t + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
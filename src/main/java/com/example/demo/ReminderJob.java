@@ -0,0 +1,75 @@
+package com.example.demo;
+
+import com.example.demo.lock.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Erzeugt fällige Erinnerungen im Hintergrund (statt bei jedem GET /notifications).
+ * Läuft dank {@link JobLockService} auch bei mehreren Instanzen nur einmal gleichzeitig.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminder.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderJob.class);
+    static final String LOCK_NAME = "reminder-job";
+
+    private final ReminderService reminderService;
+    private final JobLockService locks;
+    private final Duration lockAtMost;
+
+    private final Timer runDuration;
+    private final Counter rowsScanned;
+    private final Counter remindersEmitted;
+    private final Counter runsSkipped;
+
+    public ReminderJob(ReminderService reminderService,
+                       JobLockService locks,
+                       MeterRegistry registry,
+                       @Value("${app.reminder.lock-at-most-ms:600000}") long lockAtMostMs) {
+        this.reminderService = reminderService;
+        this.locks = locks;
+        this.lockAtMost = Duration.ofMillis(lockAtMostMs);
+
+        this.runDuration = Timer.builder("reminder.run.duration")
+                .description("Dauer eines Reminder-Laufs")
+                .register(registry);
+        this.rowsScanned = Counter.builder("reminder.rows.scanned")
+                .description("Geprüfte fällige Gegenstände")
+                .register(registry);
+        this.remindersEmitted = Counter.builder("reminder.emitted")
+                .description("Erzeugte Notifications")
+                .register(registry);
+        this.runsSkipped = Counter.builder("reminder.run.skipped")
+                .description("Läufe, bei denen eine andere Instanz den Lock hatte")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${app.reminder.cron:0 */5 * * * *}")
+    public void run() {
+        if (!locks.tryAcquire(LOCK_NAME, lockAtMost)) {
+            runsSkipped.increment();
+            return;
+        }
+
+        try {
+            ReminderService.RunResult result = runDuration.record(reminderService::createDueReminders);
+            rowsScanned.increment(result.scanned());
+            remindersEmitted.increment(result.emitted());
+        } catch (RuntimeException e) {
+            log.warn("Reminder-Lauf fehlgeschlagen", e);
+        } finally {
+            locks.release(LOCK_NAME);
+        }
+    }
+}
@@ -2,37 +2,105 @@ package com.example.demo;
 
 import com.example.demo.notification.Notification;
 import com.example.demo.notification.NotificationRepository;
+import com.example.demo.notification.NotificationsCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ReminderService {
 
     private final GegenstandRepository gegenstandRepository;
     private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
 
     public ReminderService(GegenstandRepository gegenstandRepository,
-                           NotificationRepository notificationRepository) {
+                           NotificationRepository notificationRepository,
+                           ApplicationEventPublisher events,
+                           PlatformTransactionManager txManager,
+                           @Value("${app.reminder.chunk-size:1000}") int chunkSize) {
         this.gegenstandRepository = gegenstandRepository;
         this.notificationRepository = notificationRepository;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.chunkSize = chunkSize;
     }
 
-    public int createDueReminders() {
+    /** Ergebnis eines Laufs (für Metriken im {@link ReminderJob}). */
+    public record RunResult(int scanned, int emitted) {}
+
+    private record ChunkResult(int scanned, int emitted, long lastId) {}
+
+    /**
+     * Verarbeitet alle fälligen Gegenstände in Chunks (Keyset über die id).
+     * Jeder Chunk ist eine eigene kurze Transaktion: 1 SELECT ... FOR UPDATE, 1 Check auf vorhandene
+     * Notifications, die Inserts und 1 UPDATE – der Heap bleibt so auch bei 100k fälligen Zeilen klein.
+     */
+    public RunResult createDueReminders() {
         LocalDate today = LocalDate.now();
 
-        List<Gegenstand> due = gegenstandRepository
-                .findAllByWegwerfAmLessThanEqualAndErinnerungAktivTrueAndErinnerungGesendetFalse(today);
+        int scanned = 0;
+        int emitted = 0;
+        long afterId = 0L;
+
+        while (true) {
+            final long cursor = afterId;
+            ChunkResult chunk = tx.execute(s -> processChunk(today, cursor));
+            if (chunk == null || chunk.scanned() == 0) break;
+
+            scanned += chunk.scanned();
+            emitted += chunk.emitted();
+            if (chunk.scanned() < chunkSize) break;
+
+            afterId = chunk.lastId();
+        }
+
+        return new RunResult(scanned, emitted);
+    }
+
+    private ChunkResult processChunk(LocalDate today, long afterId) {
+        List<Gegenstand> due = gegenstandRepository.lockDueChunk(today, afterId, PageRequest.of(0, chunkSize));
+        if (due.isEmpty()) {
+            return new ChunkResult(0, 0, afterId);
+        }
+
+        List<Long> ids = due.stream().map(Gegenstand::getId).toList();
 
+        // idempotent: gibt es (z.B. durch einen parallelen Lauf) schon eine Notification, nicht nochmal anlegen
+        Set<Long> alreadyNotified = notificationRepository.findGegenstandIdsWithNotification(ids);
+
+        List<Notification> batch = new ArrayList<>(due.size());
+        Map<Long, List<Notification>> byOwner = new HashMap<>();
         for (Gegenstand g : due) {
+            if (alreadyNotified.contains(g.getId())) continue;
             String msg = "Erinnerung: \"" + g.getName() + "\" kann ab " + g.getWegwerfAm() + " weg/verkauft werden.";
-            notificationRepository.save(new Notification(msg, g.getId()));
+            Long ownerId = g.getOwner().getId(); // Proxy, id ohne Nachladen
+            Notification n = new Notification(msg, g.getId(), ownerId);
+            batch.add(n);
+            byOwner.computeIfAbsent(ownerId, id -> new ArrayList<>()).add(n);
+        }
+        notificationRepository.saveAll(batch);
 
-            g.setErinnerungGesendet(true);
-            gegenstandRepository.save(g);
+        // SSE-Push an offene Streams – der Listener feuert erst nach dem Commit
+        if (!byOwner.isEmpty()) {
+            events.publishEvent(new NotificationsCreatedEvent(byOwner));
         }
 
-        return due.size();
+        // ein UPDATE für den ganzen Chunk; leert danach auch den Persistence Context
+        gegenstandRepository.markReminderSent(ids);
+
+        return new ChunkResult(due.size(), batch.size(), ids.get(ids.size() - 1));
     }
-}
\ No newline at end of file
+}
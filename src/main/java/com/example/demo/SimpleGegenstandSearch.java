@@ -0,0 +1,40 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fallback für H2 (Test-Profil): Teilstring-Suche in Name und Ort per JPQL, Name-Präfix vor Name-Treffer vor Ort.
+ * Kein Tippfehler-Match – das kann nur die Postgres-Variante.
+ */
+@Component
+@Profile("test")
+class SimpleGegenstandSearch implements GegenstandSearch {
+
+    private final GegenstandRepository repo;
+
+    SimpleGegenstandSearch(GegenstandRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GegenstandView> search(Long ownerId, String query, int offset, int limit) {
+        String q = escapeLike(query.trim().toLowerCase(Locale.ROOT));
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        // offset ist immer ein Vielfaches von limit (page * size)
+        return repo.searchViews(ownerId, "%" + q + "%", q + "%", PageRequest.of(offset / limit, limit));
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position im Änderungsstrom eines Users: (updatedAt, id) der zuletzt gelieferten Zeile.
+ * Nach außen ein opaker Base64-String, wie {@link GegenstandCursor}.
+ */
+public record SyncToken(Instant updatedAt, Long id) {
+
+    public static final SyncToken START = new SyncToken(Instant.EPOCH, 0L);
+
+    public String encode() {
+        String raw = updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException bei kaputtem Token
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ungültiger Sync-Token");
+            }
+            return new SyncToken(Instant.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Ungültiger Sync-Token", e);
+        }
+    }
+}
@@ -1,11 +1,33 @@
 package com.example.demo;
 
+/**
+ * Gespeichert wird der Name (EnumType.STRING) – sortiert wird die Liste aber nach {@link #rang()}
+ * (Spalte wichtigkeit_rang), alphabetisch stünde MITTEL vor UNWICHTIG vor WICHTIG.
+ */
 public enum Wichtigkeit {
-    UNVERZICHTBAR,
-    WICHTIG,
-    SELTEN_GENUTZT,
-    UNWICHTIG,
-    MUELL,
-    VERKAUFEN,
-    MITTEL
-}
\ No newline at end of file
+    UNVERZICHTBAR(0),
+    WICHTIG(1),
+    SELTEN_GENUTZT(3),
+    UNWICHTIG(4),
+    MUELL(6),
+    VERKAUFEN(5),
+    MITTEL(2);
+
+    // ohne Wichtigkeit ganz ans Ende (alte Zeilen; neue sind @NotNull)
+    static final int OHNE_RANG = 99;
+
+    private final int rang;
+
+    Wichtigkeit(int rang) {
+        this.rang = rang;
+    }
+
+    // WICHTIG → MITTEL → UNWICHTIG → MUELL wie in der Oberfläche, die übrigen dazwischen einsortiert
+    public int rang() {
+        return rang;
+    }
+
+    public static int rangVon(Wichtigkeit w) {
+        return w != null ? w.rang : OHNE_RANG;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Binäre Antworten per Content-Negotiation: Accept: application/cbor bzw. application/x-jackson-smile
+ * liefert dieselben Objekte aus denselben Controllern, ohne Accept oder mit Wildcard bleibt es JSON.
+ * Gilt auch für Request-Bodies (Content-Type).
+ *
+ * Die Konverter ersetzen die Spring-Defaults für CBOR/Smile (HttpMessageConverters tauscht gleiche Klassen aus),
+ * damit sie denselben Builder wie JSON nutzen: spring.jackson.*, JavaTimeModule, Blackbird.
+ * Messung: GegenstandWireFormatBenchmark (src/jmh).
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    /**
+     * Format, das die Content-Negotiation für diesen Request wählen wird (json | cbor | smile) – gehört in die
+     * ETag-Variante, sonst hätten JSON- und CBOR-Antwort derselben URL denselben ETag.
+     * Gleiche Regeln wie Spring: Qualität/Spezifität zuerst, bei Wildcards gewinnt JSON (erster Konverter).
+     */
+    public static String negotiatedFormat(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return "json";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "json"; // Spring antwortet dann ohnehin mit 406
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return "json";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (type.isCompatibleWith(APPLICATION_SMILE)) {
+                return "smile";
+            }
+        }
+        return "json";
+    }
+
+    // Spring Boot hängt jedes Module-Bean an alle ObjectMapper aus dem Builder: Getter/Setter/Konstruktoren
+    // per LambdaMetafactory statt Reflection (Nachfolger von Afterburner, läuft ohne --add-opens ab JDK 17)
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Builder ist ein Prototype-Bean: jeder Parameter bekommt eine frische, bereits konfigurierte Instanz
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
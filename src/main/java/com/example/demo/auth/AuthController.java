@@ -32,4 +32,20 @@ public class AuthController {
             return ResponseEntity.status(401).body(e.getMessage());
         }
     }
+
+    // Access-Token abgelaufen → mit dem Refresh-Token ein neues Paar holen (das alte Refresh-Token ist danach verbraucht)
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody AuthDtos.RefreshRequest req) {
+        try {
+            return ResponseEntity.ok(auth.refresh(req.refreshToken()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(401).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody AuthDtos.RefreshRequest req) {
+        auth.logout(req.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
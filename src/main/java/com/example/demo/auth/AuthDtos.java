@@ -16,8 +16,14 @@ public class AuthDtos {
             @NotBlank String password
     ) {}
 
+    public record RefreshRequest(
+            @NotBlank String refreshToken
+    ) {}
+
+    // token = kurzlebiges Access-Token (Authorization: Bearer), refreshToken für POST /auth/refresh
     public record AuthResponse(
             String token,
+            String refreshToken,
             Long userId,
             String email,
             String name
@@ -1,22 +1,24 @@
 package com.example.demo.auth;
 
 import com.example.demo.security.JwtService;
+import com.example.demo.security.PasswordHasher;
 import com.example.demo.user.AppUser;
 import com.example.demo.user.AppUserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final AppUserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHasher hasher; // BCrypt auf eigenem, begrenztem Pool (nicht im Request-Thread)
     private final JwtService jwt;
+    private final RefreshTokenService refreshTokens;
 
-    public AuthService(AppUserRepository users, PasswordEncoder encoder, JwtService jwt) {
+    public AuthService(AppUserRepository users, PasswordHasher hasher, JwtService jwt, RefreshTokenService refreshTokens) {
         this.users = users;
-        this.encoder = encoder;
+        this.hasher = hasher;
         this.jwt = jwt;
+        this.refreshTokens = refreshTokens;
     }
 
     public AuthDtos.AuthResponse register(RegisterRequest req) {
@@ -35,12 +37,11 @@ public class AuthService {
         AppUser u = new AppUser();
         u.setEmail(email);
         u.setName(name);
-        u.setPasswordHash(encoder.encode(password));
+        u.setPasswordHash(hasher.encode(password));
 
         u = users.save(u);
 
-        String token = jwt.createToken(u.getId());
-        return new AuthDtos.AuthResponse(token, u.getId(), u.getEmail(), u.getName());
+        return respond(u, refreshTokens.issue(u.getId()));
     }
 
     public AuthDtos.AuthResponse login(LoginRequest req) {
@@ -54,12 +55,37 @@ public class AuthService {
         AppUser u = users.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
-        if (!encoder.matches(password, u.getPasswordHash())) {
+        if (!hasher.matches(password, u.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
+        // Kostenfaktor geändert (app.auth.bcrypt.strength): Klartext ist jetzt bekannt → einmalig neu hashen
+        if (hasher.needsRehash(u.getPasswordHash())) {
+            u.setPasswordHash(hasher.encode(password));
+            u = users.save(u);
+        }
+
+        return respond(u, refreshTokens.issue(u.getId()));
+    }
+
+    /**
+     * Neues Access-Token gegen ein Refresh-Token (das dabei verbraucht wird und durch ein neues ersetzt).
+     * Hier fällt auf, wenn der User inzwischen gelöscht ist – der Request-Pfad selbst fragt die DB nicht mehr.
+     */
+    public AuthDtos.AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokens.rotate(refreshToken);
+        AppUser u = users.findById(rotation.userId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+        return respond(u, rotation.refreshToken());
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokens.revoke(refreshToken);
+    }
+
+    private AuthDtos.AuthResponse respond(AppUser u, String refreshToken) {
         String token = jwt.createToken(u.getId());
-        return new AuthDtos.AuthResponse(token, u.getId(), u.getEmail(), u.getName());
+        return new AuthDtos.AuthResponse(token, refreshToken, u.getId(), u.getEmail(), u.getName());
     }
 
     private String normalizeEmail(String email) {
@@ -0,0 +1,67 @@
+package com.example.demo.auth;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Refresh-Token (Schema: db/migration/V8__refresh_token.sql). Gespeichert wird nur der Hash.
+ * Jedes Token ist genau einmal benutzbar (usedAt), danach gibt es ein neues aus derselben Familie
+ * (kurze Gnadenfrist für parallele Refreshes, siehe RefreshTokenService).
+ */
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq")
+    @SequenceGenerator(name = "refresh_token_seq", sequenceName = "refresh_token_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // Beginn der Anmeldung: begrenzt, wie lange sich eine Familie per Rotation verlängern kann
+    @Column(name = "family_created_at", nullable = false)
+    private Instant familyCreatedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(nullable = false)
+    private boolean revoked = false;
+
+    protected RefreshToken() {}
+
+    public RefreshToken(Long userId, String tokenHash, String familyId, Instant familyCreatedAt,
+                        Instant createdAt, Instant expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.familyCreatedAt = familyCreatedAt;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getTokenHash() { return tokenHash; }
+    public String getFamilyId() { return familyId; }
+    public Instant getFamilyCreatedAt() { return familyCreatedAt; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public Instant getUsedAt() { return usedAt; }
+    public boolean isRevoked() { return revoked; }
+}
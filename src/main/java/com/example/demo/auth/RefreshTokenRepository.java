@@ -0,0 +1,44 @@
+package com.example.demo.auth;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends CrudRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Rotation: nur der erste Aufruf bekommt 1 zurück, auch wenn zwei Requests gleichzeitig dasselbe Token schicken
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.id = :id and t.usedAt is null and t.revoked = false")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken t set t.revoked = true where t.familyId = :familyId and t.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    // frischer Blick in die DB (nicht auf die geladene Entity): wurde die Familie inzwischen gesperrt?
+    boolean existsByFamilyIdAndRevokedTrue(String familyId);
+
+    // Aufräumen: Familien nach Ablauf ihrer Höchstdauer komplett, sonst nur nie benutzte abgelaufene Tokens.
+    // Verbrauchte Tokens bleiben bis zum Ende der Familie – nur an ihnen wird Wiederverwendung erkannt.
+    @Modifying
+    @Query("""
+            delete from RefreshToken t
+            where t.userId = :userId
+              and (t.familyCreatedAt < :familyCutoff or (t.usedAt is null and t.expiresAt < :now))
+            """)
+    int deleteExpired(@Param("userId") Long userId, @Param("familyCutoff") Instant familyCutoff, @Param("now") Instant now);
+
+    // nächtlicher Purge: dasselbe für alle User (Anmeldungen, die nie wieder refresht oder neu eingeloggt werden)
+    @Modifying
+    @Query("""
+            delete from RefreshToken t
+            where t.familyCreatedAt < :familyCutoff or (t.usedAt is null and t.expiresAt < :now)
+            """)
+    int deleteAllExpired(@Param("familyCutoff") Instant familyCutoff, @Param("now") Instant now);
+}
@@ -0,0 +1,133 @@
+package com.example.demo.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotierende Refresh-Tokens: zufällig (256 Bit), in der DB nur als SHA-256-Hash.
+ * Jeder Refresh verbraucht das Token und gibt ein neues aus derselben Familie zurück.
+ * Taucht ein schon verbrauchtes Token wieder auf (geklaut?), wird die ganze Familie gesperrt – außer innerhalb einer
+ * kurzen Gnadenfrist: zwei Tabs teilen sich localStorage und refreshen nach Ablauf des Access-Tokens fast gleichzeitig.
+ * Der zweite bekommt dann ein weiteres Token derselben Familie statt alle Geräte auszuloggen.
+ *
+ * Eine Familie lebt höchstens max-lifetime (Rotation verlängert nur bis dahin). Verbrauchte Tokens bleiben so lange
+ * liegen, sonst wäre ein wiederverwendetes Token nur "unbekannt" und die Familie bliebe offen; weggeräumt wird
+ * erst, wenn die Familie abgelaufen ist (beim Login des Users und im nächtlichen Purge).
+ *
+ * Hier – und nur hier – wird gegen die DB geprüft; die kurzlebigen Access-Tokens prüft der JwtAuthFilter rein in-memory.
+ */
+@Service
+public class RefreshTokenService {
+
+    public record Rotation(Long userId, String refreshToken) {}
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokens;
+    private final Duration ttl;
+    private final Duration maxLifetime;
+    private final Duration reuseGrace;
+
+    public RefreshTokenService(RefreshTokenRepository tokens,
+                               @Value("${app.auth.refresh.ttl-ms:2592000000}") long ttlMs,
+                               @Value("${app.auth.refresh.max-lifetime-ms:7776000000}") long maxLifetimeMs,
+                               @Value("${app.auth.refresh.reuse-grace-ms:10000}") long reuseGraceMs) {
+        this.tokens = tokens;
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.maxLifetime = Duration.ofMillis(maxLifetimeMs);
+        this.reuseGrace = Duration.ofMillis(reuseGraceMs);
+    }
+
+    // neue Anmeldung (Login/Register) = neue Familie
+    @Transactional
+    public String issue(Long userId) {
+        Instant now = Instant.now();
+        tokens.deleteExpired(userId, now.minus(maxLifetime), now);
+        return create(userId, UUID.randomUUID().toString(), now, now);
+    }
+
+    /**
+     * Verbraucht das Token und liefert ein neues.
+     * noRollbackFor: die Sperre der Familie bei Wiederverwendung muss auch dann committet werden, wenn wir werfen.
+     *
+     * @throws IllegalArgumentException unbekannt, abgelaufen, gesperrt oder schon benutzt
+     */
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = tokens.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        Instant now = Instant.now();
+        if (current.isRevoked() || (current.getUsedAt() == null && current.getExpiresAt().isBefore(now))) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        // schon verbraucht (auch wenn inzwischen abgelaufen) oder parallel gerade verbraucht
+        if (tokens.markUsed(current.getId(), now) == 0) {
+            if (withinGrace(current, now) && !tokens.existsByFamilyIdAndRevokedTrue(current.getFamilyId())) {
+                // paralleler Refresh (zweiter Tab): weiteres Token derselben Familie
+                return new Rotation(current.getUserId(), next(current, now));
+            }
+            tokens.revokeFamily(current.getFamilyId()); // Wiederverwendung → alle Geräte dieser Anmeldung raus
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        return new Rotation(current.getUserId(), next(current, now));
+    }
+
+    // nachts: abgelaufene Familien samt verbrauchter Tokens, dazu nie benutzte abgelaufene Tokens
+    @Scheduled(cron = "${app.auth.refresh.purge-cron:0 17 3 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        return tokens.deleteAllExpired(now.minus(maxLifetime), now);
+    }
+
+    // usedAt == null: die geladene Entity ist älter als das markUsed eines parallelen Requests
+    private boolean withinGrace(RefreshToken current, Instant now) {
+        return current.getUsedAt() == null || current.getUsedAt().isAfter(now.minus(reuseGrace));
+    }
+
+    private String next(RefreshToken current, Instant now) {
+        return create(current.getUserId(), current.getFamilyId(), current.getFamilyCreatedAt(), now);
+    }
+
+    // Logout: Familie sperren; unbekannte Tokens ignorieren
+    @Transactional
+    public void revoke(String refreshToken) {
+        tokens.findByTokenHash(hash(refreshToken))
+                .ifPresent(t -> tokens.revokeFamily(t.getFamilyId()));
+    }
+
+    private String create(Long userId, String familyId, Instant familyCreatedAt, Instant now) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(ttl);
+        Instant familyEnd = familyCreatedAt.plus(maxLifetime);
+        if (expiresAt.isAfter(familyEnd)) {
+            expiresAt = familyEnd; // Rotation verlängert nicht über die Höchstdauer der Anmeldung hinaus
+        }
+        tokens.save(new RefreshToken(userId, hash(raw), familyId, familyCreatedAt, now, expiresAt));
+        return raw;
+    }
+
+    static String hash(String raw) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(raw.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import java.util.Map;
+
+/**
+ * Ergebnis pro Element eines Batch-Requests (index = Position im Request).
+ */
+public record BatchItemResult(int index, Long id, Status status, Map<String, String> errors) {
+
+    public enum Status { CREATED, UPDATED, DELETED, NOT_FOUND, CONFLICT, INVALID }
+
+    public static BatchItemResult ok(int index, Long id, Status status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult invalid(int index, Long id, Map<String, String> errors) {
+        return new BatchItemResult(index, id, Status.INVALID, errors);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Ein Element in PUT /gegenstaende/batch: gleiche Felder wie beim Anlegen + id.
+ * Optional version (wie If-Match beim einzelnen PUT): passt sie nicht, wird das Element mit CONFLICT übersprungen.
+ */
+public class GegenstandBatchUpdateDto extends GegenstandCreateDto {
+
+    @NotNull
+    private Long id;
+
+    private Long version;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Antwort von GET /gegenstaende/changes.
+ *
+ * @param items     neue oder geänderte Gegenstände (lokal per id ersetzen)
+ * @param deleted   ids gelöschter Gegenstände (lokal entfernen)
+ * @param nextToken beim nächsten Aufruf als {@code since} mitschicken
+ * @param hasMore   true = sofort mit nextToken weiterholen
+ */
+public record GegenstandChanges(List<GegenstandView> items, List<Long> deleted, String nextToken, boolean hasMore) {}
@@ -4,6 +4,7 @@ import com.example.demo.GegenstandKategorie;
 import com.example.demo.Wichtigkeit;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,9 +12,11 @@ import java.time.LocalDate;
 public class GegenstandCreateDto {
 
     @NotBlank
+    @Size(max = 255)
     private String name;
 
     @NotBlank
+    @Size(max = 255)
     private String ort;
 
     @NotNull
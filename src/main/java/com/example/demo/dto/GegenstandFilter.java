@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import com.example.demo.GegenstandKategorie;
+import com.example.demo.Wichtigkeit;
+
+import java.time.LocalDate;
+
+/**
+ * Optionale Server-Filter für GET /gegenstaende (null = Filter nicht aktiv).
+ */
+public record GegenstandFilter(
+        GegenstandKategorie kategorie,
+        Wichtigkeit wichtigkeit,
+        String ort,
+        String namePrefix,
+        LocalDate wegwerfVon,
+        LocalDate wegwerfBis
+) {
+    public static GegenstandFilter none() {
+        return new GegenstandFilter(null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite Ergebnisse + Cursor für die nächste Seite (null = letzte Seite).
+ */
+public record GegenstandPage<T>(List<T> items, String nextCursor) {}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import com.example.demo.GegenstandKategorie;
+import com.example.demo.Wichtigkeit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kennzahlen fürs Dashboard (GET /gegenstaende/stats). Die Maps enthalten jeden Enum-Wert, auch mit 0.
+ *
+ * @param wegwerfProWoche die nächsten Wochen ab der aktuellen (Montag als Wochenanfang), lückenlos
+ */
+public record GegenstandStats(
+        long gesamt,
+        Map<Wichtigkeit, Long> proWichtigkeit,
+        Map<GegenstandKategorie, Long> proKategorie,
+        long mitWegwerfdatum,
+        long wegwerfUeberfaellig,
+        List<WegwerfWoche> wegwerfProWoche,
+        BigDecimal summeKaufpreis,
+        BigDecimal summeWunschVerkaufpreis
+) {
+
+    public record WegwerfWoche(LocalDate wocheAb, long anzahl) {}
+}
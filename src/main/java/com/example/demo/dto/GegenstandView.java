@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+import com.example.demo.Gegenstand;
+import com.example.demo.GegenstandKategorie;
+import com.example.demo.Wichtigkeit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lese-Sicht auf einen Gegenstand für Liste/Detail: nur die Spalten, die das Frontend anzeigt.
+ * Wird per Konstruktor-Ausdruck direkt in der Query gebaut – keine Entity im Persistence Context,
+ * kein Snapshot, kein Dirty-Checking, kein Owner-Proxy.
+ */
+public record GegenstandView(
+        Long id,
+        String name,
+        String ort,
+        Wichtigkeit wichtigkeit,
+        GegenstandKategorie kategorie,
+        LocalDate lastUsed,
+        LocalDate wegwerfAm,
+        BigDecimal kaufpreis,
+        BigDecimal wunschVerkaufpreis,
+        Long version // für If-Match beim PUT
+) {
+
+    // für Antworten auf POST/PUT, damit alle Endpoints dieselbe Form liefern
+    public static GegenstandView of(Gegenstand g) {
+        return new GegenstandView(
+                g.getId(), g.getName(), g.getOrt(), g.getWichtigkeit(), g.getKategorie(),
+                g.getLastUsed(), g.getWegwerfAm(), g.getKaufpreis(), g.getWunschVerkaufpreis(), g.getVersion());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.error;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Server ist (für diese Art Anfrage) gerade ausgelastet → 429 oder 503 mit Retry-After.
+ */
+public class BusyException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final int retryAfterSeconds;
+
+    public BusyException(String message, HttpStatus status, int retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.error;
+
+/**
+ * Änderung basiert auf einem veralteten Stand (If-Match / @Version) → 409 mit dem aktuellen Stand im Body.
+ */
+public class ConflictException extends RuntimeException {
+
+    private final transient Object current;
+
+    public ConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
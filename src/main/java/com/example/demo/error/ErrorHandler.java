@@ -1,7 +1,10 @@
 package com.example.demo.error;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,4 +31,39 @@ public class ErrorHandler {
         body.put("error", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body); // 404
     }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConflictException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        body.put("current", ex.getCurrent());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body); // 409
+    }
+
+    // z.B. PUT /gegenstaende/batch, wenn ein Element parallel geändert wurde (ohne aktuellen Stand)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "Gleichzeitig geändert, bitte neu laden");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body); // 409
+    }
+
+    // Hikari hat innerhalb von connection-timeout keine Verbindung frei (oder die DB ist weg) → Client soll es gleich nochmal versuchen
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, String>> handleNoConnection(CannotCreateTransactionException ex) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", "Server ausgelastet, bitte gleich nochmal versuchen");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body); // 503
+    }
+
+    @ExceptionHandler(BusyException.class)
+    public ResponseEntity<Map<String, String>> handleBusy(BusyException ex) {
+        Map<String, String> body = new HashMap<>();
+        body.put("error", ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body); // 429/503
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.demo.lock;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Eine Zeile pro Job. Wer die Zeile "hält" (lockedUntil in der Zukunft), darf den Job ausführen –
+ * so läuft ein @Scheduled Job auch bei mehreren Instanzen nur einmal gleichzeitig.
+ */
+@Entity
+@Table(name = "job_lock")
+public class JobLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    protected JobLock() {}
+
+    public String getName() { return name; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public String getLockedBy() { return lockedBy; }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.lock;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface JobLockRepository extends CrudRepository<JobLock, String> {
+
+    // übernimmt den Lock nur, wenn er abgelaufen ist (atomar in einem Statement)
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :until, l.lockedBy = :by where l.name = :name and l.lockedUntil <= :now")
+    int takeOver(@Param("name") String name,
+                 @Param("until") Instant until,
+                 @Param("by") String by,
+                 @Param("now") Instant now);
+
+    // erstes Mal: Zeile anlegen (PK-Verletzung = jemand anderes war schneller)
+    @Modifying
+    @Query(value = "insert into job_lock (name, locked_until, locked_by) values (:name, :until, :by)", nativeQuery = true)
+    int insert(@Param("name") String name,
+               @Param("until") Instant until,
+               @Param("by") String by);
+
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :now where l.name = :name and l.lockedBy = :by")
+    int release(@Param("name") String name,
+                @Param("by") String by,
+                @Param("now") Instant now);
+}
@@ -0,0 +1,55 @@
+package com.example.demo.lock;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * DB-basierter Single-Runner-Guard für geplante Jobs (ähnlich ShedLock, nur ohne extra Dependency).
+ * Jeder Schritt läuft in einer eigenen kurzen Transaktion, damit der Lock sofort für alle Instanzen sichtbar ist.
+ */
+@Service
+public class JobLockService {
+
+    private final JobLockRepository repo;
+    private final TransactionTemplate tx;
+    private final String instanceId = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+
+    public JobLockService(JobLockRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /**
+     * @param lockAtMost Sicherheitsnetz: stirbt die Instanz mitten im Job, ist der Lock danach wieder frei
+     * @return true, wenn diese Instanz den Job jetzt ausführen darf
+     */
+    public boolean tryAcquire(String name, Duration lockAtMost) {
+        Instant now = Instant.now();
+        Instant until = now.plus(lockAtMost);
+
+        Integer updated = tx.execute(s -> repo.takeOver(name, until, instanceId, now));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        if (repo.existsById(name)) {
+            return false; // Lock existiert und ist noch aktiv
+        }
+
+        try {
+            tx.executeWithoutResult(s -> repo.insert(name, until, instanceId));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false; // andere Instanz hat die Zeile gerade angelegt
+        }
+    }
+
+    public void release(String name) {
+        tx.executeWithoutResult(s -> repo.release(name, instanceId, Instant.now()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.notification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Body für PUT /notifications/seen – entweder ids oder before.
+ */
+public record MarkSeenRequest(List<Long> ids, LocalDateTime before) {}
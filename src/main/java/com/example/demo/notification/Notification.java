@@ -5,10 +5,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "notification") // Standard ist oft "notification" – lassen oder anpassen falls eure Tabelle anders heißt
+// Indizes: siehe db/migration/V4__performance_indexes.sql
 public class Notification {
 
+    // Sequence statt IDENTITY, damit der ReminderService seine Notifications als JDBC-Batch einfügen kann
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
 
     // früher: massagetitle
@@ -19,6 +22,10 @@ public class Notification {
     @Column(name = "gegendstand_id")
     private Long gegenstandId;
 
+    // Owner des Gegenstands (userId) – damit jeder nur seine eigenen Notifications sieht
+    @Column(name = "owner_id")
+    private Long ownerId;
+
     // früher: createtime
     @Column(name = "createtime")
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -28,14 +35,16 @@ public class Notification {
 
     protected Notification() {}
 
-    public Notification(String message, Long gegenstandId) {
+    public Notification(String message, Long gegenstandId, Long ownerId) {
         this.message = message;
         this.gegenstandId = gegenstandId;
+        this.ownerId = ownerId;
     }
 
     public Long getId() { return id; }
     public String getMessage() { return message; }
     public Long getGegenstandId() { return gegenstandId; }
+    public Long getOwnerId() { return ownerId; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public Boolean getSeen() { return seen; }
 
@@ -1,10 +1,24 @@
 package com.example.demo.notification;
 
-import com.example.demo.ReminderService;
+import com.example.demo.WireFormatConfig;
 import com.example.demo.error.NotFoundException;
+import com.example.demo.security.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @CrossOrigin(origins = "*")
 @RestController
@@ -12,28 +26,100 @@ import java.util.List;
 public class NotificationController {
 
     private final NotificationRepository repo;
-    private final ReminderService reminderService;
+    private final NotificationService service;
+    private final NotificationStreamRegistry streams;
+    private final int replayLimit;
 
-    public NotificationController(NotificationRepository repo, ReminderService reminderService) {
+    public NotificationController(NotificationRepository repo,
+                                  NotificationService service,
+                                  NotificationStreamRegistry streams,
+                                  @Value("${app.notifications.stream.replay-limit:200}") int replayLimit) {
         this.repo = repo;
-        this.reminderService = reminderService;
+        this.service = service;
+        this.streams = streams;
+        this.replayLimit = Math.max(1, replayLimit);
     }
 
+    private static final int MAX_SIZE = 200;
+
+    // Daten eines Users: nur im Browser-Cache, vor jeder Nutzung mit dem ETag nachfragen
+    // Vary: Accept, weil dieselbe URL auch CBOR/Smile liefern kann
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @GetMapping
-    public List<Notification> all(@RequestParam(required = false) Boolean unseenOnly) {
+    public ResponseEntity<List<Notification>> all(@RequestParam(required = false) Boolean unseenOnly,
+                                                  @RequestParam(defaultValue = "0") int page,
+                                                  @RequestParam(defaultValue = "50") int size,
+                                                  WebRequest request) {
+        // reine Leseabfrage – Erinnerungen erzeugt der ReminderJob im Hintergrund
+        Long userId = CurrentUser.idOrThrow();
+        var pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_SIZE)));
+        boolean onlyUnseen = Boolean.TRUE.equals(unseenOnly);
+
+        // unverändert seit dem letzten Abruf → 304 ohne die Liste zu laden
+        String etag = service.etag(userId, "list|" + onlyUnseen + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize()
+                + "|" + WireFormatConfig.negotiatedFormat(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<Notification> items = onlyUnseen
+                ? repo.findAllByOwnerIdAndSeenFalseOrderByCreatedAtDesc(userId, pageable)
+                : repo.findAllByOwnerIdOrderByCreatedAtDesc(userId, pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PRIVATE_REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(items);
+    }
 
-        // optional: on-demand reminders erzeugen (gut für Render)
-        reminderService.createDueReminders();
+    // für das Badge im Header – ein COUNT über den Index statt der ganzen Liste
+    @GetMapping("/unseen-count")
+    public ResponseEntity<Map<String, Long>> unseenCount(WebRequest request) {
+        Long userId = CurrentUser.idOrThrow();
+        String etag = service.etag(userId, "unseen-count|" + WireFormatConfig.negotiatedFormat(request));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(PRIVATE_REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .body(Map.of("count", repo.countByOwnerIdAndSeenFalse(userId)));
+    }
+
+    /**
+     * Server-Sent Events: neue Notifications werden gepusht, sobald der ReminderJob sie anlegt.
+     * Beim Reconnect schickt der Client Last-Event-ID und bekommt das Verpasste nachgeliefert (höchstens replay-limit).
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        Long userId = CurrentUser.idOrThrow();
+        if (lastEventId == null) {
+            return streams.open(userId, List::of);
+        }
+        // höchstens die neuesten replayLimit, in Sendereihenfolge – ältere gibt es über GET /notifications
+        return streams.open(userId, () -> {
+            List<Notification> newest = new ArrayList<>(
+                    repo.findAllByOwnerIdAndIdGreaterThanOrderByIdDesc(userId, lastEventId, PageRequest.of(0, replayLimit)));
+            Collections.reverse(newest);
+            return newest;
+        });
+    }
 
-        if (Boolean.TRUE.equals(unseenOnly)) {
-            return repo.findAllBySeenFalseOrderByCreatedAtDesc();
+    /**
+     * Bulk: {"ids": [1, 2, 3]} oder {"before": "2026-01-31T23:59:59"} (alles bis dahin).
+     * Ein UPDATE statt findById + save pro Notification.
+     */
+    @PutMapping("/seen")
+    public NotificationService.MarkSeenResult markSeenBulk(@RequestBody MarkSeenRequest req) {
+        Long userId = CurrentUser.idOrThrow();
+        if (req.ids() != null && !req.ids().isEmpty()) {
+            return service.markSeen(userId, req.ids());
+        }
+        if (req.before() != null) {
+            return service.markSeenBefore(userId, req.before());
         }
-        return repo.findAllByOrderByCreatedAtDesc();
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids oder before angeben");
     }
 
     @PutMapping("/{id}/seen")
     public Notification markSeen(@PathVariable Long id) {
-        Notification notification = repo.findById(id)
+        Long userId = CurrentUser.idOrThrow();
+        Notification notification = repo.findByIdAndOwnerId(id, userId)
                 .orElseThrow(() -> new NotFoundException("Notification nicht gefunden: " + id));
         notification.setSeen(true);
         return repo.save(notification);
@@ -0,0 +1,11 @@
+package com.example.demo.notification;
+
+/**
+ * Datenstand der Notifications eines Users: neue kommen mit höherer id, "gesehen" ändert die Zahl der ungesehenen.
+ * Daraus werden die ETags für GET /notifications gebaut.
+ */
+public interface NotificationDataVersion {
+    Long getMaxId(); // null, wenn es keine gibt
+    long getTotal();
+    long getUnseen();
+}
@@ -1,9 +1,52 @@
 package com.example.demo.notification;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface NotificationRepository extends CrudRepository<Notification, Long> {
-    List<Notification> findAllByOrderByCreatedAtDesc();
-    List<Notification> findAllBySeenFalseOrderByCreatedAtDesc();
+
+    // ✅ Multi-User: alles nur für Owner, paginiert (Index owner_id, seen, createtime desc)
+    List<Notification> findAllByOwnerIdOrderByCreatedAtDesc(Long ownerId, Pageable page);
+    List<Notification> findAllByOwnerIdAndSeenFalseOrderByCreatedAtDesc(Long ownerId, Pageable page);
+
+    // Badge: nur zählen, nichts laden
+    long countByOwnerIdAndSeenFalse(Long ownerId);
+
+    Optional<Notification> findByIdAndOwnerId(Long id, Long ownerId);
+
+    // Bulk mark-as-seen: je ein UPDATE
+    @Query("select n.id from Notification n where n.ownerId = :ownerId and n.id in :ids")
+    Set<Long> findOwnedIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Notification n set n.seen = true where n.ownerId = :ownerId and n.id in :ids and n.seen = false")
+    int markSeen(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Notification n set n.seen = true where n.ownerId = :ownerId and n.createdAt <= :before and n.seen = false")
+    int markSeenBefore(@Param("ownerId") Long ownerId, @Param("before") LocalDateTime before);
+
+    // Replay für SSE-Reconnect: die neuesten nach der letzten gesehenen Event-ID (begrenzt per Pageable)
+    List<Notification> findAllByOwnerIdAndIdGreaterThanOrderByIdDesc(Long ownerId, Long afterId, Pageable page);
+
+    // ETag für GET /notifications: ein Aggregat über den Index (owner_id, seen, createtime)
+    @Query("""
+            select max(n.id) as maxId, count(n) as total, count(case when n.seen = false then 1 end) as unseen
+            from Notification n
+            where n.ownerId = :ownerId
+            """)
+    NotificationDataVersion findDataVersion(@Param("ownerId") Long ownerId);
+
+    // für idempotente Reminder-Läufe: zu welchen Gegenständen gibt es schon eine Notification?
+    @Query("select n.gegenstandId from Notification n where n.gegenstandId in :ids")
+    Set<Long> findGegenstandIdsWithNotification(@Param("ids") Collection<Long> ids);
 }
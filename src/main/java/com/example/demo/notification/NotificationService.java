@@ -0,0 +1,58 @@
+package com.example.demo.notification;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class NotificationService {
+
+    private final NotificationRepository repo;
+
+    public NotificationService(NotificationRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Schwacher ETag für eine Lese-Antwort (Liste/Badge): Datenstand des Users + Variante (Parameter des Requests).
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long userId, String variant) {
+        NotificationDataVersion v = repo.findDataVersion(userId);
+        long maxId = v.getMaxId() != null ? v.getMaxId() : 0;
+        return "W/\"" + Long.toHexString(maxId) + "-" + v.getTotal() + "-" + v.getUnseen()
+                + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    /**
+     * @param updated  Anzahl tatsächlich geänderter Zeilen (schon gesehene zählen nicht)
+     * @param outcomes pro angefragter id (leer bei "before")
+     */
+    public record MarkSeenResult(int updated, Map<Long, Outcome> outcomes) {
+
+        /** SEEN auch für schon gesehene; NOT_FOUND auch für fremde – die Existenz wird nicht verraten. */
+        public enum Outcome { SEEN, NOT_FOUND }
+    }
+
+    @Transactional
+    public MarkSeenResult markSeen(Long userId, List<Long> ids) {
+        Set<Long> owned = repo.findOwnedIds(userId, ids);
+        int updated = owned.isEmpty() ? 0 : repo.markSeen(userId, owned);
+
+        Map<Long, MarkSeenResult.Outcome> outcomes = new LinkedHashMap<>();
+        for (Long id : ids) {
+            outcomes.put(id, owned.contains(id) ? MarkSeenResult.Outcome.SEEN : MarkSeenResult.Outcome.NOT_FOUND);
+        }
+        return new MarkSeenResult(updated, outcomes);
+    }
+
+    @Transactional
+    public MarkSeenResult markSeenBefore(Long userId, LocalDateTime before) {
+        return new MarkSeenResult(repo.markSeenBefore(userId, before), Map.of());
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.demo.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Alle offenen SSE-Verbindungen pro User. Die Verbindungen laufen über Servlet-Async,
+ * d.h. eine wartende Verbindung hält keinen Tomcat-Thread – tausende idle Streams kosten nur ein paar Objekte.
+ *
+ * Heartbeat und Push laufen auf einem eigenen kleinen Pool: nicht auf dem (einthreadigen) Spring-Scheduler,
+ * den sich sonst ReminderJob und Heartbeat teilen, und nicht im Commit-Thread des Jobs – ein langsamer Socket
+ * hält so weder den Reminder-Lauf noch die Heartbeats der anderen auf.
+ */
+@Component
+public class NotificationStreamRegistry implements MeterBinder, DisposableBean {
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private final ScheduledThreadPoolExecutor executor;
+
+    public NotificationStreamRegistry(@Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                      @Value("${app.notifications.stream.heartbeat-ms:25000}") long heartbeatMs,
+                                      @Value("${app.notifications.stream.threads:2}") int threads) {
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "notification-stream-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Öffnet einen Stream und schickt verpasste Notifications (Replay nach Last-Event-ID) direkt hinterher.
+     *
+     * Reihenfolge: erst registrieren, dann {@code replay} abfragen – was dazwischen committet wird, kommt als Push
+     * und wird bis zum Ende des Replays gepuffert; Notifications, die in beiden landen, gehen nur einmal raus.
+     */
+    public SseEmitter open(Long userId, Supplier<List<Notification>> replay) {
+        SseEmitter emitter = createEmitter();
+        Stream stream = new Stream(emitter);
+        streams.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+
+        Runnable remove = () -> remove(userId, stream);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        List<Notification> missed;
+        try {
+            missed = replay.get();
+        } catch (RuntimeException e) {
+            remove.run();
+            throw e;
+        }
+        stream.replay(missed, userId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCreated(NotificationsCreatedEvent event) {
+        event.byOwner().forEach((userId, notifications) -> {
+            Set<Stream> userStreams = streams.get(userId);
+            if (userStreams == null) return;
+            for (Stream stream : userStreams) {
+                executor.execute(() -> stream.push(notifications, userId));
+            }
+        });
+    }
+
+    // Kommentar-Zeile alle paar Sekunden, damit Proxies (Render) die Verbindung nicht als idle kappen
+    void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (Stream stream : userStreams) {
+                stream.ping(userId);
+            }
+        });
+    }
+
+    public int openStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notifications.stream.open", this, NotificationStreamRegistry::openStreams)
+                .description("Offene SSE-Verbindungen")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // eigene Methode, damit Tests die gesendeten Events mitschneiden können
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void remove(Long userId, Stream stream) {
+        streams.computeIfPresent(userId, (id, set) -> {
+            set.remove(stream);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Eine Verbindung. Alle Sends laufen unter dem Monitor des Streams, damit Replay, Push und Heartbeat
+     * sich nicht überholen.
+     */
+    private final class Stream {
+
+        private final SseEmitter emitter;
+        private List<Notification> pending = new ArrayList<>(); // null, sobald das Replay durch ist
+        private final Set<Long> replayed = new HashSet<>(); // höchstens replay-limit ids
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void replay(List<Notification> missed, Long userId) {
+            for (Notification n : missed) {
+                if (!send(n, userId)) return;
+                replayed.add(n.getId());
+            }
+            for (Notification n : pending) {
+                if (!replayed.contains(n.getId()) && !send(n, userId)) return;
+            }
+            pending = null;
+        }
+
+        synchronized void push(List<Notification> notifications, Long userId) {
+            if (pending != null) {
+                pending.addAll(notifications);
+                return;
+            }
+            for (Notification n : notifications) {
+                // Push-Task kann auch erst nach dem Replay drankommen, das ihn schon enthielt
+                if (!replayed.contains(n.getId()) && !send(n, userId)) return;
+            }
+        }
+
+        synchronized void ping(Long userId) {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                remove(userId, this);
+            }
+        }
+
+        private boolean send(Notification n, Long userId) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(n.getId())) // -> Last-Event-ID beim Reconnect
+                        .name("notification")
+                        .data(n, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client weg oder Emitter schon fertig
+                remove(userId, this);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.demo.notification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Neue Notifications, gruppiert nach Owner (userId). Wird nach dem Commit an offene SSE-Streams verteilt.
+ */
+public record NotificationsCreatedEvent(Map<Long, List<Notification>> byOwner) {}
@@ -0,0 +1,19 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Kleiner Helfer für Controller: userId des eingeloggten Users (principal, gesetzt vom JwtAuthFilter).
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {}
+
+    public static Long idOrThrow() {
+        var a = SecurityContextHolder.getContext().getAuthentication();
+        if (a == null || !a.isAuthenticated() || a.getPrincipal() == null) {
+            throw new RuntimeException("Nicht eingeloggt");
+        }
+        return (Long) a.getPrincipal(); //  userId aus JWT Filter
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.demo.security;
 
-import com.example.demo.user.AppUserRepository;
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -12,15 +11,19 @@ import org.springframework.stereotype.Component;
 import java.io.IOException;
 import java.util.List;
 
+/**
+ * Setzt den SecurityContext aus dem Access-Token – nur Signatur + exp, keine DB.
+ * Gelöschte/gesperrte User fallen spätestens nach Ablauf des Access-Tokens raus (POST /auth/refresh prüft gegen die DB).
+ */
 @Component
 public class JwtAuthFilter implements Filter {
 
+    private static final List<GrantedAuthority> USER_AUTHORITIES = List.of(new SimpleGrantedAuthority("USER"));
+
     private final JwtService jwtService;
-    private final AppUserRepository users;
 
-    public JwtAuthFilter(JwtService jwtService, AppUserRepository users) {
+    public JwtAuthFilter(JwtService jwtService) {
         this.jwtService = jwtService;
-        this.users = users;
     }
 
     @Override
@@ -33,18 +36,14 @@ public class JwtAuthFilter implements Filter {
         if (auth != null && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
             try {
-                Claims claims = jwtService.parse(token).getBody();
-                Long userId = Long.valueOf(claims.getSubject());
-
-                // user exist check (optional, aber gut)
-                users.findById(userId).ifPresent(u -> {
-                    var authentication = new UsernamePasswordAuthenticationToken(
-                            u.getId(), // principal = userId
-                            null,
-                            List.of(new SimpleGrantedAuthority("USER"))
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                });
+                JwtService.AccessClaims claims = jwtService.verify(token);
+
+                var authentication = new UsernamePasswordAuthenticationToken(
+                        claims.userId(), // principal = userId
+                        null,
+                        authorities(claims.roles())
+                );
+                SecurityContextHolder.getContext().setAuthentication(authentication);
 
             } catch (Exception ignored) {
                 // invalid token -> einfach nicht authentifiziert
@@ -54,4 +53,11 @@ public class JwtAuthFilter implements Filter {
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static List<GrantedAuthority> authorities(List<String> roles) {
+        if (roles == JwtService.DEFAULT_ROLES) {
+            return USER_AUTHORITIES; // Normalfall ohne neue Objekte
+        }
+        return roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    }
+}
@@ -1,34 +1,87 @@
 package com.example.demo.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Clock;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Kurzlebige Access-Tokens (app.jwt.ttl-ms, Default 15 min) mit allem, was der JwtAuthFilter braucht
+ * (subject = userId, roles) – geprüft wird nur die Signatur, keine DB. Verlängert wird über POST /auth/refresh.
+ */
 @Service
-public class JwtService {
+public class JwtService implements MeterBinder {
+
+    static final String ROLES_CLAIM = "roles";
+    static final List<String> DEFAULT_ROLES = List.of("USER");
 
     private final Key key;
     private final long ttlMs;
+    private final Clock clock;
+
+    // einmal gebaut, thread-safe – vorher wurde pro Request ein neuer Parser gebaut
+    private final JwtParser parser;
+
+    // bereits verifizierte Tokens -> (Claims, exp); null = Cache aus
+    private final Cache<String, VerifiedToken> verified;
 
+    public record AccessClaims(Long userId, List<String> roles) {}
+
+    record VerifiedToken(AccessClaims claims, long expiresAtMs) {}
+
+    @Autowired
     public JwtService(
             @Value("${app.jwt.secret:CHANGE_ME_DEV_SECRET_CHANGE_ME_DEV_SECRET}") String secret,
-            @Value("${app.jwt.ttl-ms:86400000}") long ttlMs
+            @Value("${app.jwt.ttl-ms:900000}") long ttlMs,
+            @Value("${app.jwt.verified-cache.enabled:true}") boolean verifiedCacheEnabled,
+            @Value("${app.jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize
     ) {
+        this(secret, ttlMs, verifiedCacheEnabled, verifiedCacheMaxSize, Clock.systemUTC());
+    }
+
+    // Tests stellen die Uhr vor; der Cache selbst läuft weiter auf der echten Zeit und räumt nur lazy ab
+    JwtService(String secret, long ttlMs, boolean verifiedCacheEnabled, long verifiedCacheMaxSize, Clock clock) {
         // secret muss mind. ~32 chars sein
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.ttlMs = ttlMs;
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+        this.verified = verifiedCacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheMaxSize)
+                        .expireAfter(new UntilTokenExpiry(clock))
+                        .recordStats()
+                        .build()
+                : null;
     }
 
     public String createToken(Long userId) {
-        Date now = new Date();
+        return createToken(userId, DEFAULT_ROLES);
+    }
+
+    public String createToken(Long userId, List<String> roles) {
+        Date now = new Date(clock.millis());
         Date exp = new Date(now.getTime() + ttlMs);
 
         return Jwts.builder()
                 .setSubject(String.valueOf(userId))
+                .claim(ROLES_CLAIM, roles)
                 .setIssuedAt(now)
                 .setExpiration(exp)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -36,9 +89,70 @@ public class JwtService {
     }
 
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
+    }
+
+    /**
+     * Prüft das Token und liefert userId (subject) + Rollen.
+     * Schon gesehene Tokens kommen aus dem Cache und sparen Signaturprüfung + JSON-Parsing;
+     * das exp wird trotzdem bei jedem Aufruf geprüft.
+     * Tokens ohne roles-Claim (alte 24-h-Tokens aus der Zeit vor den Refresh-Tokens) gelten nicht mehr.
+     *
+     * @throws JwtException bei ungültigem oder abgelaufenem Token
+     */
+    public AccessClaims verify(String token) {
+        if (verified != null) {
+            VerifiedToken hit = verified.getIfPresent(token);
+            if (hit != null) {
+                if (clock.millis() <= hit.expiresAtMs()) {
+                    return hit.claims();
+                }
+                verified.invalidate(token); // abgelaufen -> normal parsen, das wirft ExpiredJwtException
+            }
+        }
+
+        Claims body = parse(token).getBody();
+        if (!(body.get(ROLES_CLAIM) instanceof List<?> roles)) {
+            throw new MalformedJwtException("Token ohne roles-Claim");
+        }
+        AccessClaims claims = new AccessClaims(
+                Long.valueOf(body.getSubject()),
+                roles.equals(DEFAULT_ROLES) ? DEFAULT_ROLES : roles.stream().map(String::valueOf).toList());
+
+        if (verified != null && body.getExpiration() != null) {
+            verified.put(token, new VerifiedToken(claims, body.getExpiration().getTime()));
+        }
+        return claims;
+    }
+
+    public Long verifyUserId(String token) {
+        return verify(token).userId();
+    }
+
+    // Spring Boot bindet MeterBinder-Beans automatisch an die Registry
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (verified != null) {
+            CaffeineCacheMetrics.monitor(registry, verified, "jwt.verified");
+        }
+    }
+
+    // Cache-Eintrag lebt genau so lange wie das Token
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken value, long currentTime) {
+            long remainingMs = value.expiresAtMs() - clock.millis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.example.demo.security;
+
+import com.example.demo.error.BusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt (≈70–100 ms CPU pro Hash bei Kosten 10) auf einem eigenen, begrenzten Pool statt direkt im Request-Thread.
+ * So kann ein Login-Ansturm höchstens {@code threads} Kerne belegen; CRUD-Requests laufen weiter.
+ *
+ * Voll (alle Threads beschäftigt + Queue voll) → sofort 429, zu lange in der Queue → 503, jeweils mit Retry-After.
+ * Metriken: auth.hash.duration{op=encode|matches}, auth.hash.queue, auth.hash.active, auth.hash.rejected.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder encoder;
+    private final int strength;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder encoder,
+                          MeterRegistry registry,
+                          @Value("${app.auth.bcrypt.strength:10}") int strength,
+                          @Value("${app.auth.hash.threads:0}") int threads,
+                          @Value("${app.auth.hash.queue-capacity:32}") int queueCapacity,
+                          @Value("${app.auth.hash.timeout-ms:5000}") long timeoutMs) {
+        this.encoder = encoder;
+        this.strength = strength;
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.hash.duration")
+                .description("Dauer eines Passwort-Hashes (ohne Wartezeit in der Queue)")
+                .tag("op", "encode")
+                .register(registry);
+        this.matchesTimer = Timer.builder("auth.hash.duration")
+                .description("Dauer eines Passwort-Hashes (ohne Wartezeit in der Queue)")
+                .tag("op", "matches")
+                .register(registry);
+        this.rejected = Counter.builder("auth.hash.rejected")
+                .description("Abgewiesene Hash-Aufträge (Queue voll oder Timeout)")
+                .register(registry);
+        Gauge.builder("auth.hash.queue", executor, e -> e.getQueue().size())
+                .description("Wartende Hash-Aufträge")
+                .register(registry);
+        Gauge.builder("auth.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Gerade laufende Hash-Aufträge")
+                .register(registry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTimer.record(() -> encoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * true, wenn der Hash mit einem anderen Kostenfaktor als dem konfigurierten erzeugt wurde
+     * (in beide Richtungen – BCryptPasswordEncoder.upgradeEncoding erkennt nur zu niedrige Kosten).
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher m = BCRYPT_COST.matcher(encodedPassword);
+        return m.find() && Integer.parseInt(m.group(1)) != strength;
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusyException("Zu viele Anmeldungen gleichzeitig, bitte gleich nochmal versuchen",
+                    HttpStatus.TOO_MANY_REQUESTS, 1);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new BusyException("Anmeldung gerade überlastet, bitte gleich nochmal versuchen",
+                    HttpStatus.SERVICE_UNAVAILABLE, 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Unterbrochen beim Passwort-Hash", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
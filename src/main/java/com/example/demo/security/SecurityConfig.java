@@ -3,10 +3,13 @@ package com.example.demo.security;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -36,6 +39,9 @@ public class SecurityConfig {
                 .httpBasic(b -> b.disable())
                 .formLogin(f -> f.disable())
 
+                // ohne (gültiges) Token: 401 statt 403, damit das Frontend weiß, dass es refreshen soll
+                .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
                 .authorizeHttpRequests(auth -> auth
                         //  Preflight erlauben
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
@@ -46,6 +52,10 @@ public class SecurityConfig {
                         // optional health endpoint (falls du den nutzt)
                         .requestMatchers("/actuator/health").permitAll()
 
+                        // Prometheus-Scrape nur lokal (hinter Render-Proxy kommt da niemand von außen ran)
+                        .requestMatchers("/actuator/prometheus").access(
+                                new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
+
                         // alles andere geschützt
                         .anyRequest().authenticated()
                 )
@@ -68,8 +78,8 @@ public class SecurityConfig {
         ));
 
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-        config.setExposedHeaders(List.of("Authorization"));
+        config.setAllowedHeaders(List.of("Authorization", "Content-Type", "Last-Event-ID", "If-None-Match", "If-Match"));
+        config.setExposedHeaders(List.of("Authorization", "X-Next-Cursor", "ETag", "Retry-After"));
 
         // Bei JWT im Header → keine Cookies nötig
         config.setAllowCredentials(false);
@@ -0,0 +1,6 @@
+-- ETag-Datenstand (GegenstandRepository.findDataVersion) summiert jetzt auch version:
+-- version als INCLUDE-Spalte, damit die Abfrage weiter nur den Index liest. Keyset des Delta-Syncs unverändert.
+CREATE INDEX IF NOT EXISTS idx_gegenstand_owner_updated_version
+    ON gegenstand (owner_id, updated_at, id) INCLUDE (version);
+
+DROP INDEX IF EXISTS idx_gegenstand_owner_updated;
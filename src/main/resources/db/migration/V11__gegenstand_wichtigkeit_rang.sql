@@ -0,0 +1,20 @@
+-- GET /gegenstaende sortiert nach Rang statt nach dem Enum-Namen (alphabetisch: MITTEL, MUELL, SELTEN_GENUTZT, ...).
+-- Werte = Wichtigkeit.rang(); die App setzt die Spalte bei jedem Schreiben mit.
+ALTER TABLE gegenstand ADD COLUMN IF NOT EXISTS wichtigkeit_rang INTEGER NOT NULL DEFAULT 99;
+
+UPDATE gegenstand SET wichtigkeit_rang = CASE wichtigkeit
+    WHEN 'UNVERZICHTBAR'  THEN 0
+    WHEN 'WICHTIG'        THEN 1
+    WHEN 'MITTEL'         THEN 2
+    WHEN 'SELTEN_GENUTZT' THEN 3
+    WHEN 'UNWICHTIG'      THEN 4
+    WHEN 'VERKAUFEN'      THEN 5
+    WHEN 'MUELL'          THEN 6
+    ELSE 99
+END;
+
+-- Keyset-Pagination: WHERE owner_id = ? ORDER BY wichtigkeit_rang, name, id
+CREATE INDEX IF NOT EXISTS idx_gegenstand_owner_rang
+    ON gegenstand (owner_id, wichtigkeit_rang, name, id);
+
+DROP INDEX IF EXISTS idx_gegenstand_owner_sort;
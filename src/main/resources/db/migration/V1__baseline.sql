@@ -0,0 +1,34 @@
+-- Ausgangsschema, so wie es ddl-auto=update bisher auf Postgres angelegt hat.
+-- Bestehende DBs (Render) überspringen diese Version: spring.flyway.baseline-on-migrate + baseline-version=1.
+-- Neue/leere DBs legen damit die Tabellen an.
+
+CREATE TABLE IF NOT EXISTS app_user (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    email         VARCHAR(320) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_app_user_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS gegenstand (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    owner_id             BIGINT       NOT NULL REFERENCES app_user (id),
+    name                 VARCHAR(255),
+    ort                  VARCHAR(255),
+    wichtigkeit          VARCHAR(255),
+    kategorie            VARCHAR(255),
+    last_used            DATE,
+    wegwerf_am           DATE,
+    kaufpreis            NUMERIC(38, 2),
+    wunsch_verkaufpreis  NUMERIC(38, 2),
+    erinnerung_aktiv     BOOLEAN,
+    erinnerung_gesendet  BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS notification (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    massagetitle   VARCHAR(255),
+    gegendstand_id BIGINT,
+    createtime     TIMESTAMP(6),
+    seen           BOOLEAN
+);
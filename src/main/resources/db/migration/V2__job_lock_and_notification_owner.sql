@@ -0,0 +1,15 @@
+-- Lock-Tabelle für den ReminderJob (eine Zeile pro Job, siehe JobLockService)
+CREATE TABLE IF NOT EXISTS job_lock (
+    name         VARCHAR(64)  PRIMARY KEY,
+    locked_until TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL
+);
+
+-- Notifications gehören einem User; alte Einträge bekommen den Owner ihres Gegenstands
+ALTER TABLE notification ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+
+UPDATE notification n
+SET owner_id = g.owner_id
+FROM gegenstand g
+WHERE n.owner_id IS NULL
+  AND g.id = n.gegendstand_id;
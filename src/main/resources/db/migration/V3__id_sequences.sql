@@ -0,0 +1,13 @@
+-- Sequences für die ids (Gegenstand, Notification, AppUser): allocationSize = 50 mit Optimizer pooled-lo,
+-- nextval liefert also die erste id eines 50er-Blocks. setval(max(id) + 1, false) -> der nächste Block
+-- beginnt direkt hinter allen vorhandenen ids. Die IDENTITY-Spalten ("by default") bleiben, Hibernate setzt
+-- die id jetzt selbst.
+
+CREATE SEQUENCE IF NOT EXISTS gegenstand_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('gegenstand_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM gegenstand), false);
+
+CREATE SEQUENCE IF NOT EXISTS notification_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('notification_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM notification), false);
+
+CREATE SEQUENCE IF NOT EXISTS app_user_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('app_user_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM app_user), false);
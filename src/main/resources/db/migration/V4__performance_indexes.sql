@@ -0,0 +1,16 @@
+-- GET /gegenstaende (findAllByOwner_Id, Keyset-Pagination): WHERE owner_id = ? ORDER BY wichtigkeit, name, id
+CREATE INDEX IF NOT EXISTS idx_gegenstand_owner_sort
+    ON gegenstand (owner_id, wichtigkeit, name, id);
+
+-- ReminderService.lockDueChunk: nur Zeilen, für die noch eine Erinnerung aussteht (klein im Vergleich zur Tabelle)
+CREATE INDEX IF NOT EXISTS idx_gegenstand_reminder_due
+    ON gegenstand (wegwerf_am, id)
+    WHERE erinnerung_aktiv AND NOT erinnerung_gesendet;
+
+-- Liste/Badge pro User: WHERE owner_id = ? [AND seen = false] ORDER BY createtime DESC
+CREATE INDEX IF NOT EXISTS idx_notification_owner_seen_created
+    ON notification (owner_id, seen, createtime DESC);
+
+-- findGegenstandIdsWithNotification (Idempotenz-Check im ReminderService)
+CREATE INDEX IF NOT EXISTS idx_notification_gegenstand
+    ON notification (gegendstand_id);
@@ -0,0 +1,7 @@
+-- Delta-Sync (GET /gegenstaende/changes): Änderungszeitpunkt + Soft-Delete-Tombstones
+ALTER TABLE gegenstand ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL DEFAULT now();
+ALTER TABLE gegenstand ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT false;
+
+-- Keyset über (updated_at, id) pro Owner; max(updated_at) für den ETag kommt ebenfalls aus diesem Index
+CREATE INDEX IF NOT EXISTS idx_gegenstand_owner_updated
+    ON gegenstand (owner_id, updated_at, id);
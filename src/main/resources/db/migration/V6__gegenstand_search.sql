@@ -0,0 +1,20 @@
+-- Suche (GET /gegenstaende/search, PostgresGegenstandSearch): Volltext + Trigramme für Tippfehler.
+-- btree_gin erlaubt owner_id mit in den GIN-Indizes, damit nur die Zeilen des Users durchsucht werden.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- 'simple': keine Stammformen, dafür Präfix-Suche pro Wort (Eingabe während des Tippens)
+ALTER TABLE gegenstand ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(ort, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_gegenstand_search
+    ON gegenstand USING gin (owner_id, search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_gegenstand_name_trgm
+    ON gegenstand USING gin (owner_id, name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_gegenstand_ort_trgm
+    ON gegenstand USING gin (owner_id, ort gin_trgm_ops);
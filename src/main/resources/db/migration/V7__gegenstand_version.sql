@@ -0,0 +1,2 @@
+-- Optimistic Locking (@Version in Gegenstand): bestehende Zeilen starten bei 0
+ALTER TABLE gegenstand ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
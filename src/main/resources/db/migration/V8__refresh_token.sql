@@ -0,0 +1,18 @@
+-- Refresh-Tokens (POST /auth/refresh): gespeichert wird nur der SHA-256-Hash, nie das Token selbst.
+-- family_id verbindet alle Tokens einer Anmeldung; wird ein schon rotiertes Token erneut benutzt,
+-- wird die ganze Familie gesperrt.
+CREATE SEQUENCE IF NOT EXISTS refresh_token_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+    id         BIGINT PRIMARY KEY,
+    user_id    BIGINT       NOT NULL REFERENCES app_user (id) ON DELETE CASCADE,
+    token_hash VARCHAR(64)  NOT NULL UNIQUE,
+    family_id  VARCHAR(36)  NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    used_at    TIMESTAMP(6) WITH TIME ZONE,
+    revoked    BOOLEAN      NOT NULL DEFAULT false
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_expires ON refresh_token (user_id, expires_at);
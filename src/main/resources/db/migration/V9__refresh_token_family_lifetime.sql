@@ -0,0 +1,9 @@
+-- Absolute Höchstdauer einer Anmeldung: jedes Token merkt sich den Beginn seiner Familie,
+-- expires_at wird bei der Rotation nie über family_created_at + max-lifetime hinaus verlängert.
+ALTER TABLE refresh_token ADD COLUMN IF NOT EXISTS family_created_at TIMESTAMP(6) WITH TIME ZONE;
+
+UPDATE refresh_token t
+SET family_created_at = (SELECT min(f.created_at) FROM refresh_token f WHERE f.family_id = t.family_id)
+WHERE family_created_at IS NULL;
+
+ALTER TABLE refresh_token ALTER COLUMN family_created_at SET NOT NULL;
@@ -0,0 +1,93 @@
+package com.example.demo;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.BatchItemResult.Status;
+import com.example.demo.dto.GegenstandBatchUpdateDto;
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandBatchServiceIntegrationTest {
+
+    @Autowired
+    private GegenstandBatchService batchService;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private GegenstandRepository gegenstandRepo;
+
+    @Test
+    void testCreateAndDeleteBatch_WithPerItemOutcomes() {
+        AppUser owner = userRepo.save(new AppUser(null, "Batch", "batch@test.de", "pw"));
+        AppUser other = userRepo.save(new AppUser(null, "Other", "batch-other@test.de", "pw"));
+
+        GegenstandCreateDto ok = dto("Kiste");
+        GegenstandCreateDto invalid = dto("Ohne Ort");
+        invalid.setOrt(""); // @NotBlank
+
+        List<BatchItemResult> created = batchService.createForUser(owner.getId(), List.of(ok, invalid, dto("Lampe")));
+
+        assertEquals(Status.CREATED, created.get(0).status());
+        assertEquals(Status.INVALID, created.get(1).status());
+        assertTrue(created.get(1).errors().containsKey("ort"));
+        assertEquals(Status.CREATED, created.get(2).status());
+
+        Long kisteId = created.get(0).id();
+        Long lampeId = created.get(2).id();
+
+        // fremder User darf nichts löschen
+        List<BatchItemResult> foreign = batchService.deleteForUser(other.getId(), List.of(kisteId));
+        assertEquals(Status.NOT_FOUND, foreign.get(0).status());
+        assertTrue(gegenstandRepo.findById(kisteId).isPresent());
+
+        List<BatchItemResult> deleted = batchService.deleteForUser(owner.getId(), List.of(kisteId, lampeId, -1L));
+        assertEquals(Status.DELETED, deleted.get(0).status());
+        assertEquals(Status.DELETED, deleted.get(1).status());
+        assertEquals(Status.NOT_FOUND, deleted.get(2).status());
+        assertTrue(gegenstandRepo.findById(kisteId).isEmpty());
+    }
+
+    @Test
+    void testUpdateBatch_NullElementIsInvalidNotServerError() {
+        AppUser owner = userRepo.save(new AppUser(null, "BatchNull", "batch-null@test.de", "pw"));
+        Long id = batchService.createForUser(owner.getId(), List.of(dto("Kiste"))).get(0).id();
+
+        GegenstandBatchUpdateDto update = new GegenstandBatchUpdateDto();
+        update.setId(id);
+        update.setName("Kiste (neu)");
+        update.setOrt("Keller");
+        update.setWichtigkeit(Wichtigkeit.WICHTIG);
+        update.setKategorie(GegenstandKategorie.HAUSHALT);
+
+        // JSON [null, {...}] kommt als Liste mit null-Element an (List.of erlaubt kein null)
+        List<BatchItemResult> results = batchService.updateForUser(owner.getId(), Arrays.asList(null, update));
+
+        assertEquals(Status.INVALID, results.get(0).status());
+        assertNull(results.get(0).id());
+        assertEquals(Status.UPDATED, results.get(1).status());
+        assertEquals("Kiste (neu)", gegenstandRepo.findById(id).orElseThrow().getName());
+
+        assertEquals(Status.INVALID, batchService.createForUser(owner.getId(), Arrays.asList((GegenstandCreateDto) null))
+                .get(0).status());
+    }
+
+    private static GegenstandCreateDto dto(String name) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        return dto;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.error.ConflictException;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Viele Threads ändern denselben Gegenstand gleichzeitig – ohne externe Sperre.
+ * Erwartung: kein Update geht verloren, Verlierer bekommen eine ConflictException mit aktuellem Stand.
+ */
+@SpringBootTest
+class GegenstandConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Test
+    void testSameIfMatch_ExactlyOneWins() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Concurrent", "concurrent@test.de", "pw"));
+        Gegenstand g = service.createForUser(user.getId(), dto("Leiter"));
+        Long version = g.getVersion();
+
+        List<Boolean> outcomes = runConcurrently(i -> () -> {
+            try {
+                service.updateForUser(user.getId(), g.getId(), dto("Leiter " + i), version);
+                return true;
+            } catch (ConflictException e) {
+                assertNotNull(e.getCurrent()); // aktueller Stand für den Client
+                return false;
+            }
+        });
+
+        assertEquals(1, outcomes.stream().filter(Boolean::booleanValue).count());
+        assertEquals(version + 1, service.getViewForUser(user.getId(), g.getId()).version());
+    }
+
+    @Test
+    void testRetryOnConflict_NoLostUpdates() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Retry", "concurrent-retry@test.de", "pw"));
+        Gegenstand g = service.createForUser(user.getId(), dto("Leiter"));
+        Long start = g.getVersion();
+
+        // Client-Verhalten: aktuellen Stand lesen, mit If-Match schreiben, bei 409 neu versuchen
+        List<Boolean> outcomes = runConcurrently(i -> () -> {
+            for (int attempt = 0; attempt < 200; attempt++) {
+                Long current = service.getViewForUser(user.getId(), g.getId()).version();
+                try {
+                    service.updateForUser(user.getId(), g.getId(), dto("Leiter " + i), current);
+                    return true;
+                } catch (ConflictException e) {
+                    // nächster Versuch
+                }
+            }
+            return false;
+        });
+
+        assertTrue(outcomes.stream().allMatch(Boolean::booleanValue));
+        assertEquals(start + THREADS, service.getViewForUser(user.getId(), g.getId()).version());
+    }
+
+    private interface Task {
+        Callable<Boolean> forThread(int i);
+    }
+
+    private static List<Boolean> runConcurrently(Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Boolean> c = task.forThread(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return c.call();
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> outcomes = new ArrayList<>();
+            for (Future<Boolean> f : futures) {
+                outcomes.add(f.get(60, TimeUnit.SECONDS)); // andere Exceptions lassen den Test scheitern
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static GegenstandCreateDto dto(String name) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Garage");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        return dto;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.demo;
 
 import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandPage;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.error.ConflictException;
 import com.example.demo.security.JwtAuthFilter;
 import com.example.demo.security.SecurityConfig;
 import org.junit.jupiter.api.AfterEach;
@@ -21,9 +24,14 @@ import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -59,24 +67,29 @@ class GegenstandControllerTest {
 
     @Test
     void testGetAlle_Empty() throws Exception {
-        when(service.getAllForUser(1L)).thenReturn(Collections.emptyList());
+        when(service.getPageForUser(eq(1L), any(), isNull(), anyInt()))
+                .thenReturn(new GegenstandPage<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/gegenstaende"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()").value(0));
+                .andExpect(jsonPath("$.size()").value(0))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
     }
 
     @Test
     void testGetAlle_WithData() throws Exception {
-        var item = new Gegenstand(
+        var item = new GegenstandView(
+                1L,
                 "Hammer",
                 "Keller",
                 Wichtigkeit.WICHTIG,
                 GegenstandKategorie.HAUSHALT,
-                null, null, null, null
+                null, null, null, null,
+                3L
         );
 
-        when(service.getAllForUser(1L)).thenReturn(List.of(item));
+        when(service.getPageForUser(eq(1L), any(), isNull(), anyInt()))
+                .thenReturn(new GegenstandPage<>(List.of(item), null));
 
         mockMvc.perform(get("/gegenstaende"))
                 .andExpect(status().isOk())
@@ -84,21 +97,63 @@ class GegenstandControllerTest {
                 .andExpect(jsonPath("$[0].wichtigkeit").value("WICHTIG"));
     }
 
+    @Test
+    void testGetAlle_NextCursorHeader() throws Exception {
+        var item = new GegenstandView(
+                5L,
+                "Hammer",
+                "Keller",
+                Wichtigkeit.WICHTIG,
+                GegenstandKategorie.HAUSHALT,
+                null, null, null, null,
+                3L
+        );
+        String next = GegenstandCursor.of(item).encode();
+
+        when(service.getPageForUser(eq(1L), any(), isNull(), eq(1)))
+                .thenReturn(new GegenstandPage<>(List.of(item), next));
+
+        mockMvc.perform(get("/gegenstaende").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", next));
+    }
+
+    @Test
+    void testGetAlle_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/gegenstaende").param("cursor", "kaputt"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetOne() throws Exception {
-        var item = new Gegenstand(
+        var item = new GegenstandView(
+                10L,
                 "Buch",
                 "Regal",
                 Wichtigkeit.UNWICHTIG,
                 GegenstandKategorie.SONSTIGES,
-                null, null, null, null
+                null, null, null, null,
+                3L
         );
 
-        when(service.getByIdForUser(1L, 10L)).thenReturn(item);
+        when(service.getViewForUser(1L, 10L)).thenReturn(item);
 
         mockMvc.perform(get("/gegenstaende/10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value("Buch"));
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.name").value("Buch"))
+                .andExpect(header().string("ETag", "\"3-json\""));
+    }
+
+    @Test
+    void testGetAlle_IfNoneMatch_NotModified() throws Exception {
+        when(service.listEtag(eq(1L), any())).thenReturn("W/\"abc-2-1\"");
+
+        mockMvc.perform(get("/gegenstaende").header("If-None-Match", "W/\"abc-2-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"abc-2-1\""));
+
+        verify(service, never()).getPageForUser(any(), any(), any(), anyInt());
     }
 
     @Test
@@ -128,7 +183,9 @@ class GegenstandControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonBody))
                 .andExpect(status().isCreated())
-                .andExpect(header().string("Location", "/gegenstaende/1"));
+                .andExpect(header().string("Location", "/gegenstaende/1"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Neu"));
     }
 
     @Test
@@ -147,6 +204,89 @@ class GegenstandControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void testUpdate_IfMatchConflict() throws Exception {
+        String jsonBody = """
+            {
+              "name": "Buch (neu)",
+              "ort": "Regal",
+              "wichtigkeit": "UNWICHTIG",
+              "kategorie": "SONSTIGES"
+            }
+        """;
+
+        var current = new GegenstandView(
+                10L,
+                "Buch (anderes Gerät)",
+                "Regal",
+                Wichtigkeit.UNWICHTIG,
+                GegenstandKategorie.SONSTIGES,
+                null, null, null, null,
+                4L
+        );
+
+        when(service.updateForUser(eq(1L), eq(10L), any(GegenstandCreateDto.class), eq(3L)))
+                .thenThrow(new ConflictException("Gegenstand wurde zwischenzeitlich geändert: 10", current));
+
+        mockMvc.perform(put("/gegenstaende/10")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.current.name").value("Buch (anderes Gerät)"))
+                .andExpect(jsonPath("$.current.version").value(4));
+    }
+
+    @Test
+    void testUpdate_WithoutIfMatchPreconditionRequired() throws Exception {
+        String jsonBody = """
+            {
+              "name": "Buch (neu)",
+              "ort": "Regal",
+              "wichtigkeit": "UNWICHTIG",
+              "kategorie": "SONSTIGES"
+            }
+        """;
+
+        mockMvc.perform(put("/gegenstaende/10")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isPreconditionRequired());
+
+        verify(service, never()).updateForUser(any(), any(), any(), any());
+    }
+
+    @Test
+    void testUpdate_IfMatchStarIsUnconditional() throws Exception {
+        String jsonBody = """
+            {
+              "name": "Buch (neu)",
+              "ort": "Regal",
+              "wichtigkeit": "UNWICHTIG",
+              "kategorie": "SONSTIGES"
+            }
+        """;
+        var updated = new GegenstandView(10L, "Buch (neu)", "Regal", Wichtigkeit.UNWICHTIG, GegenstandKategorie.SONSTIGES,
+                null, null, null, null, 5L);
+        when(service.updateForUser(eq(1L), eq(10L), any(GegenstandCreateDto.class), isNull())).thenReturn(updated);
+
+        mockMvc.perform(put("/gegenstaende/10")
+                        .header("If-Match", "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(jsonBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    void testParseIfMatch_OnlyVersionCounts() {
+        assertEquals(3L, GegenstandController.parseIfMatch("\"3-json\""));
+        assertEquals(3L, GegenstandController.parseIfMatch("\"3-cbor\""));
+        assertEquals(3L, GegenstandController.parseIfMatch("W/\"3\""));
+        assertEquals(3L, GegenstandController.parseIfMatch("3"));
+        assertNull(GegenstandController.parseIfMatch("*"));
+    }
+
     @Test
     void testDelete() throws Exception {
         doNothing().when(service).deleteForUser(1L, 99L);
@@ -0,0 +1,111 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandExportServiceIntegrationTest {
+
+    @Autowired
+    private GegenstandExportService exportService;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void testCsv_QuotesAndEscapesRoundTrip() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Export", "export-csv@test.de", "pw"));
+        String tricky = "Regal, \"weiß\"\nmit Umbruch";
+        Gegenstand g = service.createForUser(user.getId(), dto(tricky, "Keller"));
+
+        String csv = export(out -> exportService.writeCsv(user.getId(), out));
+
+        assertTrue(csv.startsWith(GegenstandExportService.CSV_HEADER + "\n"));
+        assertTrue(csv.contains("\"Regal, \"\"weiß\"\"\nmit Umbruch\""), csv);
+
+        // mit dem Import-Leser wieder einlesen: gleiche Felder wie vorher
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        assertEquals(List.of(GegenstandExportService.CSV_HEADER.split(",")), reader.next());
+        List<String> row = reader.next();
+        assertEquals(List.of(String.valueOf(g.getId()), tricky, "Keller", "WICHTIG", "HAUSHALT",
+                "", "2030-01-01", "19.99", ""), row);
+        assertNull(reader.next());
+    }
+
+    @Test
+    void testCsv_Escaping() {
+        assertEquals("", GegenstandExportService.csv(null));
+        assertEquals("Keller", GegenstandExportService.csv("Keller"));
+        assertEquals("\"a,b\"", GegenstandExportService.csv("a,b"));
+        assertEquals("\"sagt \"\"hi\"\"\"", GegenstandExportService.csv("sagt \"hi\""));
+        assertEquals("\"a\nb\"", GegenstandExportService.csv("a\nb"));
+        assertEquals("\"a\rb\"", GegenstandExportService.csv("a\rb"));
+    }
+
+    @Test
+    void testNdjson_SameFieldsAsCsvHeader() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Export", "export-ndjson@test.de", "pw"));
+        service.createForUser(user.getId(), dto("Lampe", "Flur"));
+        service.createForUser(user.getId(), dto("Koffer", "Dachboden"));
+
+        String ndjson = export(out -> exportService.writeNdjson(user.getId(), out));
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+
+        Set<String> expected = new LinkedHashSet<>(Arrays.asList(GegenstandExportService.CSV_HEADER.split(",")));
+        for (String line : lines) {
+            JsonNode node = mapper.readTree(line);
+            List<String> fields = new ArrayList<>();
+            node.fieldNames().forEachRemaining(fields::add);
+            // keine Entity-Interna (erinnerung*, updatedAt, version)
+            assertEquals(expected, new LinkedHashSet<>(fields));
+            assertEquals("2030-01-01", node.get("wegwerfAm").asText());
+        }
+    }
+
+    private interface Export {
+        void write(ByteArrayOutputStream out) throws Exception;
+    }
+
+    private static String export(Export export) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static GegenstandCreateDto dto(String name, String ort) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt(ort);
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        dto.setWegwerfAm(LocalDate.of(2030, 1, 1));
+        dto.setKaufpreis(new BigDecimal("19.99"));
+        return dto;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo;
+
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandImportServiceIntegrationTest {
+
+    @Autowired
+    private GegenstandImportService importService;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private GegenstandRepository gegenstandRepo;
+
+    @Test
+    void testImportCsv_ValidRowsAreStoredInvalidRowsReported() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Importer", "import@test.de", "pw"));
+
+        String csv = """
+                name,ort,wichtigkeit,kategorie,wegwerfAm,kaufpreis
+                "Regal, weiß",Keller,WICHTIG,HAUSHALT,2030-01-01,19.99
+                Kabel,Schublade,GIBTSNICHT,TECH,,
+                ,Flur,MITTEL,SONSTIGES,,
+                Koffer,Dachboden,SELTEN_GENUTZT,REISE,,
+                """;
+
+        GegenstandImportService.ImportResult result = importService.importCsv(
+                user.getId(), new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.imported());
+        assertEquals(2, result.failed());
+        assertEquals(3, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).errors().containsKey("wichtigkeit"));
+        assertTrue(result.errors().get(1).errors().containsKey("name"));
+
+        List<String> names = gegenstandRepo.findAllByOwner_Id(user.getId()).stream()
+                .map(Gegenstand::getName)
+                .sorted()
+                .toList();
+        assertEquals(List.of("Koffer", "Regal, weiß"), names);
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Importer2", "import2@test.de", "pw"));
+
+        String ndjson = """
+                {"name":"Lampe","ort":"Flur","wichtigkeit":"MITTEL","kategorie":"HAUSHALT"}
+                kein json
+                """;
+
+        GegenstandImportService.ImportResult result = importService.importNdjson(
+                user.getId(), new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, result.imported());
+        assertEquals(1, result.failed());
+        assertEquals(2, result.errors().get(0).line());
+    }
+
+    @Test
+    void testImport_OverlongRecordIsReportedAndSkipped() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Importer3", "import3@test.de", "pw"));
+        String huge = "x".repeat(10_000);
+
+        String csv = "name,ort,wichtigkeit,kategorie\n"
+                + "\"" + huge + "\n" + huge + "\",Keller,WICHTIG,TECH\n" // Quote über mehrere Zeilen, zu lang
+                + "Lampe,Flur,MITTEL,HAUSHALT\n"
+                + "\"" + huge;                                             // nie geschlossen bis EOF
+        GegenstandImportService.ImportResult fromCsv = importService.importCsv(
+                user.getId(), new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, fromCsv.imported());
+        assertEquals(2, fromCsv.failed());
+        assertEquals(2, fromCsv.errors().get(0).line());
+        assertTrue(fromCsv.errors().get(0).errors().containsKey("zeile"));
+        assertEquals(5, fromCsv.errors().get(1).line());
+
+        String ndjson = "{\"name\":\"" + huge + "\"}\n"
+                + "{\"name\":\"Koffer\",\"ort\":\"Dachboden\",\"wichtigkeit\":\"SELTEN_GENUTZT\",\"kategorie\":\"REISE\"}\n";
+        GegenstandImportService.ImportResult fromNdjson = importService.importNdjson(
+                user.getId(), new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, fromNdjson.imported());
+        assertEquals(1, fromNdjson.failed());
+        assertEquals(1, fromNdjson.errors().get(0).line());
+        assertTrue(fromNdjson.errors().get(0).errors().containsKey("zeile"));
+    }
+
+    @Test
+    void testImportCsv_NameLongerThanColumnIsValidationError() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Importer4", "import4@test.de", "pw"));
+
+        String csv = "name,ort,wichtigkeit,kategorie\n" + "n".repeat(300) + ",Keller,WICHTIG,TECH\n";
+        GegenstandImportService.ImportResult result = importService.importCsv(
+                user.getId(), new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(0, result.imported());
+        assertTrue(result.errors().get(0).errors().containsKey("name"));
+    }
+}
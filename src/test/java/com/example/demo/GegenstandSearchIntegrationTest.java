@@ -0,0 +1,83 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandSearchIntegrationTest {
+
+    @Autowired
+    private GegenstandSearch search;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Test
+    void testSearch_RanksNamePrefixFirstAndIsOwnerScoped() {
+        AppUser user = userRepo.save(new AppUser(null, "Search", "search@test.de", "pw"));
+        AppUser other = userRepo.save(new AppUser(null, "Other", "search-other@test.de", "pw"));
+
+        service.createForUser(user.getId(), dto("Akku-Bohrer", "Keller"));
+        service.createForUser(user.getId(), dto("Bohrmaschine", "Werkstatt"));
+        service.createForUser(user.getId(), dto("Hammer", "Bohrkiste"));
+        service.createForUser(user.getId(), dto("Zange", "Keller"));
+        service.createForUser(other.getId(), dto("Bohrhammer", "Keller"));
+
+        List<String> names = search.search(user.getId(), "BOHR", 0, 10).stream().map(GegenstandView::name).toList();
+        assertEquals(List.of("Bohrmaschine", "Akku-Bohrer", "Hammer"), names);
+
+        assertEquals(1, search.search(user.getId(), "bohr", 1, 1).size()); // zweite Seite
+        assertTrue(search.search(user.getId(), "100%", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testController_PageBeyondMaxOffsetIsBadRequest() {
+        AppUser user = userRepo.save(new AppUser(null, "Search", "search-page@test.de", "pw"));
+        service.createForUser(user.getId(), dto("Bohrer", "Keller"));
+        GegenstandSearchController controller = new GegenstandSearchController(search);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user.getId(), null, List.of()));
+        try {
+            assertEquals(1, controller.search("bohr", 0, 50).size());
+            assertTrue(controller.search("bohr", 200, 50).isEmpty()); // Offset 10000 = Grenze, noch erlaubt
+
+            ResponseStatusException tooDeep = assertThrows(ResponseStatusException.class,
+                    () -> controller.search("bohr", 201, 50));
+            assertEquals(HttpStatus.BAD_REQUEST, tooDeep.getStatusCode());
+            // page * size passt nicht in int – früher negativer Offset, jetzt 400
+            assertThrows(ResponseStatusException.class, () -> controller.search("bohr", Integer.MAX_VALUE, 200));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void testPrefixTsQuery_OnlyWordCharacters() {
+        assertEquals("bohr:* & masch:*", PostgresGegenstandSearch.toPrefixTsQuery("Bohr  masch!"));
+        assertEquals("", PostgresGegenstandSearch.toPrefixTsQuery("&|!:*"));
+    }
+
+    private static GegenstandCreateDto dto(String name, String ort) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt(ort);
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.TECH);
+        return dto;
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.demo;
 
 import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandFilter;
+import com.example.demo.dto.GegenstandPage;
+import com.example.demo.dto.GegenstandView;
 import com.example.demo.error.NotFoundException;
 import com.example.demo.user.AppUser;
 import com.example.demo.user.AppUserRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,6 +31,9 @@ class GegenstandServiceIntegrationTest {
     @Autowired
     private GegenstandRepository gegenstandRepo;
 
+    @Autowired
+    private JdbcTemplate jdbc;
+
     @Test
     void testDeleteForUser_Success() {
         // 1. User anlegen
@@ -70,4 +82,86 @@ class GegenstandServiceIntegrationTest {
         // 4. CHECK: Der Gegenstand von User A darf NICHT gelöscht worden sein!
         assertTrue(gegenstandRepo.findById(itemAId).isPresent(), "Gegenstand wurde fälschlicherweise gelöscht!");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetPageForUser_KeysetAndFilter() {
+        AppUser user = userRepo.save(new AppUser(null, "Pager", "pager@test.de", "pw"));
+
+        for (String name : List.of("Axt", "Bohrer", "Zange")) {
+            GegenstandCreateDto dto = new GegenstandCreateDto();
+            dto.setName(name);
+            dto.setOrt("Keller");
+            dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+            dto.setKategorie(GegenstandKategorie.HAUSHALT);
+            service.createForUser(user.getId(), dto);
+        }
+
+        // Seite 1: zwei Treffer + Cursor
+        GegenstandPage<GegenstandView> first = service.getPageForUser(user.getId(), GegenstandFilter.none(), null, 2);
+        assertEquals(List.of("Axt", "Bohrer"), first.items().stream().map(GegenstandView::name).toList());
+        assertNotNull(first.nextCursor());
+
+        // Seite 2: der Rest, kein Cursor mehr
+        GegenstandPage<GegenstandView> second = service.getPageForUser(
+                user.getId(), GegenstandFilter.none(), GegenstandCursor.decode(first.nextCursor()), 2);
+        assertEquals(List.of("Zange"), second.items().stream().map(GegenstandView::name).toList());
+        assertNull(second.nextCursor());
+
+        // Name-Prefix-Filter (case-insensitive)
+        var filter = new GegenstandFilter(null, null, null, "bo", null, null);
+        GegenstandPage<GegenstandView> filtered = service.getPageForUser(user.getId(), filter, null, 10);
+        assertEquals(List.of("Bohrer"), filtered.items().stream().map(GegenstandView::name).toList());
+    }
+
+    @Test
+    void testListEtag_ChangesOnEveryWriteRegardlessOfCommitOrder() {
+        AppUser user = userRepo.save(new AppUser(null, "Etag", "list-etag@test.de", "pw"));
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName("Axt");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        Long axt = service.createForUser(user.getId(), dto).getId();
+        dto.setName("Bohrer");
+        service.createForUser(user.getId(), dto);
+
+        String etag = service.listEtag(user.getId(), "v");
+        assertEquals(etag, service.listEtag(user.getId(), "v"));
+        assertNotEquals(etag, service.listEtag(user.getId(), "andere-variante"));
+
+        // zweites Gerät: Update mit älterem updated_at committet zuletzt – max(updated_at) und Anzahl bleiben gleich
+        jdbc.update("update gegenstand set name = ?, version = version + 1, updated_at = ? where id = ?",
+                "Axt (Handy)", Timestamp.from(Instant.parse("2000-01-01T00:00:00Z")), axt);
+
+        assertNotEquals(etag, service.listEtag(user.getId(), "v"));
+    }
+
+    @Test
+    void testGetPageForUser_SortsByRankNotByEnumName() {
+        AppUser user = userRepo.save(new AppUser(null, "Rang", "rang@test.de", "pw"));
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setOrt("Keller");
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        for (Wichtigkeit w : List.of(Wichtigkeit.MUELL, Wichtigkeit.UNWICHTIG, Wichtigkeit.MITTEL, Wichtigkeit.WICHTIG)) {
+            dto.setName("A " + w);
+            dto.setWichtigkeit(w);
+            service.createForUser(user.getId(), dto);
+        }
+
+        // Keyset über alle Seiten: Reihenfolge wie in der Oberfläche, nicht alphabetisch (MITTEL, MUELL, ...)
+        List<Wichtigkeit> order = new ArrayList<>();
+        GegenstandCursor after = null;
+        do {
+            GegenstandPage<GegenstandView> page = service.getPageForUser(user.getId(), GegenstandFilter.none(), after, 1);
+            page.items().forEach(v -> order.add(v.wichtigkeit()));
+            after = page.nextCursor() != null ? GegenstandCursor.decode(page.nextCursor()) : null;
+        } while (after != null);
+        assertEquals(List.of(Wichtigkeit.WICHTIG, Wichtigkeit.MITTEL, Wichtigkeit.UNWICHTIG, Wichtigkeit.MUELL), order);
+
+        // Update über den Bulk-Pfad zieht den Rang mit
+        Long muell = service.getPageForUser(user.getId(), GegenstandFilter.none(), null, 10).items().get(3).id();
+        dto.setName("A MUELL");
+        dto.setWichtigkeit(Wichtigkeit.UNVERZICHTBAR);
+        service.updateForUser(user.getId(), muell, dto, null);
+        assertEquals(muell, service.getPageForUser(user.getId(), GegenstandFilter.none(), null, 10).items().get(0).id());
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -24,6 +25,9 @@ class GegenstandServiceTest {
     @Mock
     private AppUserRepository userRepo;
 
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private GegenstandService service;
 
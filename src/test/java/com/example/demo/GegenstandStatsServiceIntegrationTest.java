@@ -0,0 +1,69 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandStats;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandStatsServiceIntegrationTest {
+
+    @Autowired
+    private GegenstandStatsService statsService;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Test
+    void testStats_AggregatesAndInvalidatesOnWrite() {
+        AppUser user = userRepo.save(new AppUser(null, "Stats", "stats@test.de", "pw"));
+        LocalDate today = LocalDate.now();
+
+        service.createForUser(user.getId(), dto("Axt", Wichtigkeit.WICHTIG, GegenstandKategorie.HAUSHALT, today, "10.00"));
+        service.createForUser(user.getId(), dto("Bohrer", Wichtigkeit.WICHTIG, GegenstandKategorie.TECH, today.minusDays(10), "5.50"));
+        service.createForUser(user.getId(), dto("Zange", Wichtigkeit.MUELL, GegenstandKategorie.TECH, null, null));
+
+        GegenstandStats stats = statsService.getForUser(user.getId());
+
+        assertEquals(3, stats.gesamt());
+        assertEquals(2L, stats.proWichtigkeit().get(Wichtigkeit.WICHTIG));
+        assertEquals(1L, stats.proWichtigkeit().get(Wichtigkeit.MUELL));
+        assertEquals(0L, stats.proWichtigkeit().get(Wichtigkeit.VERKAUFEN));
+        assertEquals(2L, stats.proKategorie().get(GegenstandKategorie.TECH));
+        assertEquals(2, stats.mitWegwerfdatum());
+        assertEquals(1, stats.wegwerfUeberfaellig());
+        assertEquals(1, stats.wegwerfProWoche().get(0).anzahl()); // "Axt" ist heute fällig
+        assertEquals(0, new BigDecimal("15.50").compareTo(stats.summeKaufpreis()));
+
+        // gecacht, bis der User etwas ändert
+        assertSame(stats, statsService.getForUser(user.getId()));
+
+        service.createForUser(user.getId(), dto("Lampe", Wichtigkeit.WICHTIG, GegenstandKategorie.HAUSHALT, null, null));
+
+        GegenstandStats after = statsService.getForUser(user.getId());
+        assertEquals(4, after.gesamt());
+        assertEquals(3L, after.proWichtigkeit().get(Wichtigkeit.WICHTIG));
+    }
+
+    private static GegenstandCreateDto dto(String name, Wichtigkeit w, GegenstandKategorie k, LocalDate wegwerfAm, String kaufpreis) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(w);
+        dto.setKategorie(k);
+        dto.setWegwerfAm(wegwerfAm);
+        dto.setKaufpreis(kaufpreis != null ? new BigDecimal(kaufpreis) : null);
+        return dto;
+    }
+}
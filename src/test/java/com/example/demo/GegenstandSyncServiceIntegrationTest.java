@@ -0,0 +1,110 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandChanges;
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class GegenstandSyncServiceIntegrationTest {
+
+    @Autowired
+    private GegenstandSyncService syncService;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private GegenstandRepository repo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testChangesSince_ReturnsUpdatesAndTombstones() {
+        AppUser user = userRepo.save(new AppUser(null, "Sync", "sync@test.de", "pw"));
+        Long axt = service.createForUser(user.getId(), dto("Axt")).getId();
+        Long bohrer = service.createForUser(user.getId(), dto("Bohrer")).getId();
+
+        // Erstabgleich
+        GegenstandChanges initial = syncService.changesSince(user.getId(), null, 100);
+        assertEquals(List.of(axt, bohrer), initial.items().stream().map(GegenstandView::id).sorted().toList());
+        assertTrue(initial.deleted().isEmpty());
+        assertFalse(initial.hasMore());
+
+        SyncToken token = SyncToken.decode(initial.nextToken());
+        String etag = syncService.etag(user.getId(), token, "500|json");
+        assertEquals(etag, syncService.etag(user.getId(), token, "500|json")); // nichts geändert -> gleicher ETag
+
+        service.updateForUser(user.getId(), axt, dto("Axt (neu)"), null);
+        service.deleteForUser(user.getId(), bohrer);
+        Long zange = service.createForUser(user.getId(), dto("Zange")).getId();
+
+        assertNotEquals(etag, syncService.etag(user.getId(), token, "500|json"));
+
+        GegenstandChanges delta = syncService.changesSince(user.getId(), token, 100);
+        assertTrue(delta.items().stream().anyMatch(v -> v.id().equals(axt) && v.name().equals("Axt (neu)")));
+        assertTrue(delta.items().stream().anyMatch(v -> v.id().equals(zange)));
+        assertTrue(delta.items().stream().noneMatch(v -> v.id().equals(bohrer)));
+        assertEquals(List.of(bohrer), delta.deleted());
+
+        // Tombstone ist für normale Queries unsichtbar
+        assertTrue(repo.findViewByIdAndOwner(bohrer, user.getId()).isEmpty());
+    }
+
+    @Test
+    void testChangesSince_PagesWithHasMore() {
+        AppUser user = userRepo.save(new AppUser(null, "SyncPages", "sync-pages@test.de", "pw"));
+        for (String name : List.of("A", "B", "C")) {
+            service.createForUser(user.getId(), dto(name));
+        }
+
+        GegenstandChanges first = syncService.changesSince(user.getId(), null, 2);
+        assertEquals(2, first.items().size());
+        assertTrue(first.hasMore());
+
+        GegenstandChanges second = syncService.changesSince(user.getId(), SyncToken.decode(first.nextToken()), 2);
+        assertEquals(1, second.items().size());
+        assertFalse(second.hasMore());
+    }
+
+    @Test
+    void testEtag_ChangesOnLateCommitWithOlderTimestamp() {
+        AppUser user = userRepo.save(new AppUser(null, "SyncLate", "sync-late@test.de", "pw"));
+        Long axt = service.createForUser(user.getId(), dto("Axt")).getId();
+        service.createForUser(user.getId(), dto("Bohrer"));
+
+        SyncToken token = SyncToken.decode(syncService.changesSince(user.getId(), null, 100).nextToken());
+        String etag = syncService.etag(user.getId(), token, "500|json");
+
+        // Update, das vor dem letzten Schreiben gestempelt wurde, aber erst danach committet:
+        // max(updated_at) und Anzahl bleiben gleich, nur die Version steigt
+        jdbc.update("update gegenstand set name = ?, version = version + 1, updated_at = ? where id = ?",
+                "Axt (spät)", Timestamp.from(Instant.parse("2000-01-01T00:00:00Z")), axt);
+
+        assertNotEquals(etag, syncService.etag(user.getId(), token, "500|json"));
+    }
+
+    private static GegenstandCreateDto dto(String name) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        return dto;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Die native Such-Query (tsquery, pg_trgm-Operatoren, Ranking) gegen echtes Postgres – auf H2 läuft nur
+ * {@link SimpleGegenstandSearch}.
+ */
+class PostgresGegenstandSearchIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private GegenstandSearch search;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        long n = System.nanoTime();
+        userId = userRepo.save(new AppUser(null, "Search", "pg-search-" + n + "@test.de", "pw")).getId();
+        Long otherId = userRepo.save(new AppUser(null, "Other", "pg-search-other-" + n + "@test.de", "pw")).getId();
+
+        service.createForUser(userId, dto("Akku-Bohrer", "Keller"));
+        service.createForUser(userId, dto("Bohrmaschine", "Werkstatt"));
+        service.createForUser(userId, dto("Hammer", "Bohrkiste"));
+        service.createForUser(userId, dto("Zange", "Keller"));
+        service.createForUser(otherId, dto("Bohrhammer", "Keller"));
+    }
+
+    @Test
+    void testUsesPostgresImplementation() {
+        assertInstanceOf(PostgresGegenstandSearch.class, search);
+    }
+
+    @Test
+    void testPrefix_NameBeforeOrtAndOwnerScoped() {
+        List<String> names = names("BOHR", 0, 10);
+
+        assertEquals(3, names.size(), names.toString());
+        assertEquals(Set.of("Bohrmaschine", "Akku-Bohrer"), Set.copyOf(names.subList(0, 2)));
+        assertEquals("Hammer", names.get(2)); // nur über den Ort (Gewicht B)
+    }
+
+    @Test
+    void testTypoMatchesViaTrigrams() {
+        assertEquals("Hammer", names("Hammr", 0, 10).get(0));
+        assertEquals("Bohrmaschine", names("bohrmaschin", 0, 10).get(0));
+    }
+
+    @Test
+    void testPagingAndSpecialCharacters() {
+        List<String> all = names("bohr", 0, 10);
+
+        assertEquals(all.subList(1, 2), names("bohr", 1, 1));
+        assertTrue(names("100%", 0, 10).isEmpty());
+        assertTrue(names("&|!:*", 0, 10).isEmpty()); // kein tsquery-Syntaxfehler
+    }
+
+    private List<String> names(String query, int offset, int limit) {
+        return search.search(userId, query, offset, limit).stream().map(GegenstandView::name).toList();
+    }
+
+    private static GegenstandCreateDto dto(String name, String ort) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt(ort);
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.TECH);
+        return dto;
+    }
+}
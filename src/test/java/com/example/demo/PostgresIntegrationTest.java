@@ -0,0 +1,30 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Basis für Tests gegen echtes Postgres (Testcontainers, braucht Docker) – opt-in: ./gradlew test -PpostgresTests.
+ * Schema wie in Produktion: Flyway-Migrationen + ddl-auto=validate, und ohne Profil "test",
+ * also mit den Postgres-Implementierungen (z.B. {@link PostgresGegenstandSearch}).
+ */
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "spring.profiles.active=postgres",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.sql.init.mode=never"
+})
+abstract class PostgresIntegrationTest {
+
+    // ein Container pro JVM, damit der Spring-Context-Cache über alle Postgres-Tests hinweg gilt; Ryuk räumt ihn weg
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+}
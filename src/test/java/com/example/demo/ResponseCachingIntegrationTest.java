@@ -0,0 +1,225 @@
+package com.example.demo;
+
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.notification.Notification;
+import com.example.demo.notification.NotificationRepository;
+import com.example.demo.security.JwtService;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bytes auf der Leitung gegen den echten Tomcat (java.net.http entpackt nichts selbst):
+ * gzip statt identity, CBOR statt JSON (Accept), und bei unverändertem Datenstand 304 ohne Body.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseCachingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private NotificationRepository notifications;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JwtService jwt;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private Long userId;
+    private Long firstId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        AppUser user = userRepo.save(new AppUser(null, "Wire", "wire-" + System.nanoTime() + "@test.de", "pw"));
+        userId = user.getId();
+        token = jwt.createToken(userId);
+
+        for (int i = 0; i < 200; i++) {
+            Long id = service.createForUser(userId, dto("Gegenstand " + i)).getId();
+            if (firstId == null) firstId = id;
+        }
+        List<Notification> seed = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            seed.add(new Notification("Erinnerung: Gegenstand " + i + " bald wegwerfen?", null, userId));
+        }
+        notifications.saveAll(seed);
+    }
+
+    @Test
+    void testGegenstaende_GzipSmallerThanIdentity() throws Exception {
+        HttpResponse<byte[]> identity = get("/gegenstaende?limit=200", null, null);
+        HttpResponse<byte[]> gzip = get("/gegenstaende?limit=200", "gzip", null);
+
+        assertEquals(200, identity.statusCode());
+        assertEquals(200, gzip.statusCode());
+        assertTrue(identity.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+
+        // gleicher Inhalt, deutlich weniger Bytes (JSON mit wiederholten Feldnamen packt gut)
+        assertArrayEquals(identity.body(), gunzip(gzip.body()));
+        assertTrue(gzip.body().length * 4 < identity.body().length,
+                "gzip " + gzip.body().length + " B vs identity " + identity.body().length + " B");
+    }
+
+    @Test
+    void testGegenstaende_UnchangedReturns304WithoutBody() throws Exception {
+        HttpResponse<byte[]> first = get("/gegenstaende?limit=200", "gzip", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertTrue(etag.startsWith("W/"), etag); // schwach, sonst komprimiert Tomcat nicht
+        assertEquals("gzip", first.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals("no-cache, private", first.headers().firstValue("Cache-Control").orElse(null));
+
+        HttpResponse<byte[]> second = get("/gegenstaende?limit=200", "gzip", etag);
+        assertEquals(304, second.statusCode());
+        assertEquals(0, second.body().length);
+        assertEquals(etag, second.headers().firstValue("ETag").orElse(null));
+
+        // andere Variante (Limit) → anderer ETag
+        assertNotEquals(etag, get("/gegenstaende?limit=10", null, null).headers().firstValue("ETag").orElseThrow());
+
+        // Änderung → alter ETag passt nicht mehr
+        service.createForUser(userId, dto("Neu"));
+        HttpResponse<byte[]> third = get("/gegenstaende?limit=200", "gzip", etag);
+        assertEquals(200, third.statusCode());
+        assertNotEquals(etag, third.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void testGegenstaende_CborOnAccept() throws Exception {
+        HttpResponse<byte[]> json = get("/gegenstaende?limit=200", null, null);
+        HttpResponse<byte[]> cbor = getAs("/gegenstaende?limit=200", "application/cbor", null);
+
+        assertEquals(200, cbor.statusCode());
+        assertEquals("application/cbor", cbor.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(cbor.headers().allValues("Vary").stream().anyMatch(v -> v.contains("Accept")));
+
+        JsonNode items = new ObjectMapper(new CBORFactory()).readTree(cbor.body());
+        assertEquals(200, items.size());
+        assertEquals(new ObjectMapper().readTree(json.body()).get(0).get("name"), items.get(0).get("name"));
+        assertTrue(cbor.body().length < json.body().length,
+                "cbor " + cbor.body().length + " B vs json " + json.body().length + " B");
+    }
+
+    @Test
+    void testEtagDependsOnNegotiatedFormat() throws Exception {
+        for (String path : List.of("/gegenstaende?limit=200", "/gegenstaende/" + firstId, "/gegenstaende/changes",
+                "/notifications?size=100", "/notifications/unseen-count")) {
+            String jsonEtag = getAs(path, "application/json", null).headers().firstValue("ETag").orElseThrow();
+            HttpResponse<byte[]> cbor = getAs(path, "application/cbor", null);
+            String cborEtag = cbor.headers().firstValue("ETag").orElseThrow();
+            assertNotEquals(jsonEtag, cborEtag, path);
+            assertTrue(cbor.headers().allValues("Vary").stream().anyMatch(v -> v.contains("Accept")), path);
+
+            // JSON-ETag darf eine CBOR-Anfrage nicht mit 304 beantworten (und umgekehrt), der eigene schon
+            assertEquals(200, getAs(path, "application/cbor", jsonEtag).statusCode(), path);
+            assertEquals(200, getAs(path, "application/json", cborEtag).statusCode(), path);
+            assertEquals(304, getAs(path, "application/cbor", cborEtag).statusCode(), path);
+            // ohne Accept = JSON
+            assertEquals(304, get(path, null, jsonEtag).statusCode(), path);
+        }
+    }
+
+    @Test
+    void testNotifications_GzipAnd304() throws Exception {
+        HttpResponse<byte[]> identity = get("/notifications?size=100", null, null);
+        HttpResponse<byte[]> gzip = get("/notifications?size=100", "gzip", null);
+
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(gzip.body().length * 4 < identity.body().length,
+                "gzip " + gzip.body().length + " B vs identity " + identity.body().length + " B");
+
+        String etag = gzip.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<byte[]> unchanged = get("/notifications?size=100", "gzip", etag);
+        assertEquals(304, unchanged.statusCode());
+        assertEquals(0, unchanged.body().length);
+
+        // Badge: klein (unter 1 KB) → nicht komprimiert, aber ebenfalls 304-fähig
+        HttpResponse<byte[]> count = get("/notifications/unseen-count", "gzip", null);
+        assertTrue(count.headers().firstValue("Content-Encoding").isEmpty());
+        String countEtag = count.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get("/notifications/unseen-count", "gzip", countEtag).statusCode());
+
+        // als gesehen markieren ändert den Datenstand
+        Long id = notifications.findAllByOwnerIdAndSeenFalseOrderByCreatedAtDesc(userId,
+                PageRequest.of(0, 1)).get(0).getId();
+        HttpResponse<byte[]> seen = send(HttpRequest.newBuilder(uri("/notifications/" + id + "/seen"))
+                .header("Authorization", "Bearer " + token)
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(200, seen.statusCode());
+        assertEquals(200, get("/notifications/unseen-count", "gzip", countEtag).statusCode());
+    }
+
+    private HttpResponse<byte[]> get(String path, String acceptEncoding, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        if (acceptEncoding != null) {
+            b.header("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            b.header("If-None-Match", ifNoneMatch);
+        }
+        return send(b);
+    }
+
+    private HttpResponse<byte[]> getAs(String path, String accept, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .GET();
+        if (ifNoneMatch != null) {
+            b.header("If-None-Match", ifNoneMatch);
+        }
+        return send(b);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder b) throws Exception {
+        return http.send(b.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static GegenstandCreateDto dto(String name) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Keller, Regal 3");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.HAUSHALT);
+        return dto;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo;
+
+import com.example.demo.dto.BatchItemResult;
+import com.example.demo.dto.BatchItemResult.Status;
+import com.example.demo.dto.GegenstandBatchUpdateDto;
+import com.example.demo.dto.GegenstandCreateDto;
+import com.example.demo.dto.GegenstandView;
+import com.example.demo.error.NotFoundException;
+import com.example.demo.notification.NotificationRepository;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Zählt die vorbereiteten JDBC-Statements (Hibernate-Statistik) bei Schreibvorgängen mit vielen Zeilen.
+ * Mit Sequence-ids + batch_size=50 muss das pro 50 Zeilen ein Statement sein, nicht eins pro Zeile.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statementcount;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StatementCountIntegrationTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    @Autowired
+    private ReminderService reminderService;
+
+    @Autowired
+    private GegenstandBatchService batchService;
+
+    @Autowired
+    private GegenstandService service;
+
+    @Autowired
+    private GegenstandRepository gegenstandRepo;
+
+    @Autowired
+    private NotificationRepository notificationRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testReminderService_InsertsNotificationsInBatches() {
+        AppUser owner = userRepo.save(new AppUser(null, "Reminder", "stmt-reminder@test.de", "pw"));
+        List<Gegenstand> due = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Gegenstand g = new Gegenstand("Item " + i, "Keller", Wichtigkeit.SELTEN_GENUTZT,
+                    GegenstandKategorie.HAUSHALT, null, LocalDate.now().minusDays(1), null, null);
+            g.setOwner(owner);
+            due.add(g);
+        }
+        gegenstandRepo.saveAll(due);
+
+        stats.clear();
+        ReminderService.RunResult result = reminderService.createDueReminders();
+
+        assertEquals(ROWS, result.emitted());
+        assertEquals(ROWS, stats.getEntityInsertCount());
+        // SELECT ... FOR UPDATE, Notification-Check, 3x nextval, 3 INSERT-Batches, 1 UPDATE
+        assertTrue(stats.getPrepareStatementCount() <= 12,
+                "zu viele Statements: " + stats.getPrepareStatementCount());
+        assertEquals(ROWS, notificationRepo.countByOwnerIdAndSeenFalse(owner.getId()));
+    }
+
+    @Test
+    void testBatchCreateAndUpdate_UseJdbcBatches() {
+        AppUser owner = userRepo.save(new AppUser(null, "Batch", "stmt-batch@test.de", "pw"));
+        List<GegenstandCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            GegenstandCreateDto dto = new GegenstandCreateDto();
+            dto.setName("Item " + i);
+            dto.setOrt("Keller");
+            dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+            dto.setKategorie(GegenstandKategorie.TECH);
+            dtos.add(dto);
+        }
+
+        stats.clear();
+        List<BatchItemResult> created = batchService.createForUser(owner.getId(), dtos);
+
+        assertTrue(created.stream().allMatch(r -> r.status() == Status.CREATED));
+        assertEquals(ROWS, stats.getEntityInsertCount());
+        // 3x nextval, 3 INSERT-Batches (User nur als Referenz, kein SELECT)
+        assertTrue(stats.getPrepareStatementCount() <= 8,
+                "zu viele Statements beim Anlegen: " + stats.getPrepareStatementCount());
+
+        List<GegenstandBatchUpdateDto> updates = new ArrayList<>();
+        for (BatchItemResult r : created) {
+            GegenstandBatchUpdateDto dto = new GegenstandBatchUpdateDto();
+            dto.setId(r.id());
+            dto.setName("Neu " + r.index());
+            dto.setOrt("Dachboden");
+            dto.setWichtigkeit(Wichtigkeit.MITTEL);
+            dto.setKategorie(GegenstandKategorie.TECH);
+            updates.add(dto);
+        }
+
+        stats.clear();
+        List<BatchItemResult> updated = batchService.updateForUser(owner.getId(), updates);
+
+        assertTrue(updated.stream().allMatch(r -> r.status() == Status.UPDATED));
+        assertEquals(ROWS, stats.getEntityUpdateCount());
+        // 1 SELECT für alle ids, 3 UPDATE-Batches
+        assertTrue(stats.getPrepareStatementCount() <= 6,
+                "zu viele Statements beim Ändern: " + stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSingleUpdateAndDelete_OneStatementEach() {
+        AppUser owner = userRepo.save(new AppUser(null, "Single", "stmt-single@test.de", "pw"));
+        AppUser other = userRepo.save(new AppUser(null, "Other", "stmt-single-other@test.de", "pw"));
+        Gegenstand g = service.createForUser(owner.getId(), dto("Einzeln"));
+
+        // UPDATE ... WHERE id = ? AND owner_id = ? AND version = ?, kein SELECT davor oder danach
+        stats.clear();
+        GegenstandView updated = service.updateForUser(owner.getId(), g.getId(), dto("Einzeln (neu)"), g.getVersion());
+        assertEquals(g.getVersion() + 1, updated.version());
+        assertEquals(1, stats.getPrepareStatementCount(),
+                "zu viele Statements beim Ändern: " + stats.getPrepareStatementCount());
+
+        // fremder User: UPDATE trifft 0 Zeilen → 404 (plus ein SELECT zur Unterscheidung von 409)
+        stats.clear();
+        assertThrows(NotFoundException.class,
+                () -> service.updateForUser(other.getId(), g.getId(), dto("Fremd"), updated.version()));
+        assertEquals(2, stats.getPrepareStatementCount());
+
+        stats.clear();
+        assertThrows(NotFoundException.class, () -> service.deleteForUser(other.getId(), g.getId()));
+        assertEquals(1, stats.getPrepareStatementCount());
+
+        stats.clear();
+        service.deleteForUser(owner.getId(), g.getId());
+        assertEquals(1, stats.getPrepareStatementCount(),
+                "zu viele Statements beim Löschen: " + stats.getPrepareStatementCount());
+
+        // zweites Löschen: schon Tombstone → 404
+        assertThrows(NotFoundException.class, () -> service.deleteForUser(owner.getId(), g.getId()));
+    }
+
+    private static GegenstandCreateDto dto(String name) {
+        GegenstandCreateDto dto = new GegenstandCreateDto();
+        dto.setName(name);
+        dto.setOrt("Keller");
+        dto.setWichtigkeit(Wichtigkeit.WICHTIG);
+        dto.setKategorie(GegenstandKategorie.TECH);
+        return dto;
+    }
+}
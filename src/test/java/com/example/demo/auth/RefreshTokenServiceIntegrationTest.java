@@ -0,0 +1,205 @@
+package com.example.demo.auth;
+
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class RefreshTokenServiceIntegrationTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokens;
+
+    @Autowired
+    private RefreshTokenRepository repo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testRotate_IssuesNewTokenAndConsumesOld() {
+        AppUser user = userRepo.save(new AppUser(null, "Refresh", "refresh@test.de", "pw"));
+        String first = refreshTokens.issue(user.getId());
+
+        RefreshTokenService.Rotation rotation = refreshTokens.rotate(first);
+        assertEquals(user.getId(), rotation.userId());
+        assertNotEquals(first, rotation.refreshToken());
+
+        // nur der Hash liegt in der DB
+        assertTrue(repo.findByTokenHash(first).isEmpty());
+        assertTrue(repo.findByTokenHash(RefreshTokenService.hash(first)).isPresent());
+
+        // das neue Token funktioniert wieder
+        assertNotNull(refreshTokens.rotate(rotation.refreshToken()).refreshToken());
+    }
+
+    @Test
+    void testRotate_ReuseRevokesWholeFamily() {
+        AppUser user = userRepo.save(new AppUser(null, "Reuse", "refresh-reuse@test.de", "pw"));
+        String first = refreshTokens.issue(user.getId());
+        String second = refreshTokens.rotate(first).refreshToken();
+        ageUsedAt(first, Duration.ofMinutes(1)); // außerhalb der Gnadenfrist
+
+        // altes Token nochmal (z.B. geklaut) → abgelehnt, und auch das aktuelle ist danach gesperrt
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(first));
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(second));
+
+        // eine neue Anmeldung ist davon nicht betroffen
+        String other = refreshTokens.issue(user.getId());
+        assertNotNull(refreshTokens.rotate(other).refreshToken());
+    }
+
+    @Test
+    void testRotate_ParallelRefreshWithinGraceKeepsFamily() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Tabs", "refresh-tabs@test.de", "pw"));
+        String shared = refreshTokens.issue(user.getId());
+
+        // zwei Tabs, gleiches Refresh-Token aus localStorage, gleichzeitig
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Callable<String> tab = () -> {
+                start.await();
+                return refreshTokens.rotate(shared).refreshToken();
+            };
+            Future<String> a = pool.submit(tab);
+            Future<String> b = pool.submit(tab);
+            start.countDown();
+
+            String tokenA = a.get(10, TimeUnit.SECONDS);
+            String tokenB = b.get(10, TimeUnit.SECONDS);
+            assertNotEquals(tokenA, tokenB);
+
+            // niemand wurde ausgeloggt: beide Nachfolger funktionieren weiter
+            assertNotNull(refreshTokens.rotate(tokenA).refreshToken());
+            assertNotNull(refreshTokens.rotate(tokenB).refreshToken());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRotate_ReuseAfterSeveralRotationsStillRevokesFamily() {
+        AppUser user = userRepo.save(new AppUser(null, "Stolen", "refresh-stolen@test.de", "pw"));
+        String original = refreshTokens.issue(user.getId());
+        String familyId = repo.findByTokenHash(RefreshTokenService.hash(original)).orElseThrow().getFamilyId();
+
+        // Angreifer rotiert zweimal mit dem geklauten Token
+        String second = refreshTokens.rotate(original).refreshToken();
+        String third = refreshTokens.rotate(second).refreshToken();
+        ageUsedAt(original, Duration.ofMinutes(5));
+        ageUsedAt(second, Duration.ofMinutes(1));
+
+        // verbrauchte Tokens bleiben liegen, sonst wäre das Original jetzt nur "unbekannt"
+        assertEquals(3, countFamily(familyId));
+
+        // Opfer schickt das Original → Wiederverwendung erkannt, auch das Token des Angreifers ist gesperrt
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(original));
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(third));
+        assertEquals(3, jdbc.queryForObject(
+                "select count(*) from refresh_token where family_id = ? and revoked = true", Integer.class, familyId));
+    }
+
+    @Test
+    void testRotate_ReuseOfExpiredConsumedTokenRevokesFamily() {
+        AppUser user = userRepo.save(new AppUser(null, "Expired", "refresh-expired-reuse@test.de", "pw"));
+        String first = refreshTokens.issue(user.getId());
+        String second = refreshTokens.rotate(first).refreshToken();
+        ageUsedAt(first, Duration.ofMinutes(1));
+        jdbc.update("update refresh_token set expires_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), RefreshTokenService.hash(first));
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(first));
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(second));
+    }
+
+    @Test
+    void testRotate_FamilyEndsAfterMaxLifetime() {
+        AppUser user = userRepo.save(new AppUser(null, "Lifetime", "refresh-lifetime@test.de", "pw"));
+        String token = refreshTokens.issue(user.getId());
+        jdbc.update("update refresh_token set family_created_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(89)).minus(Duration.ofHours(23))),
+                RefreshTokenService.hash(token));
+
+        // Rotation geht noch, verlängert aber nur bis zum Ende der 90 Tage statt um weitere 30
+        String next = refreshTokens.rotate(token).refreshToken();
+        RefreshToken rotated = repo.findByTokenHash(RefreshTokenService.hash(next)).orElseThrow();
+        assertTrue(rotated.getExpiresAt().isBefore(Instant.now().plus(Duration.ofHours(2))));
+        assertEquals(rotated.getFamilyCreatedAt().plus(Duration.ofDays(90)), rotated.getExpiresAt());
+
+        // danach ist Schluss
+        jdbc.update("update refresh_token set expires_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), RefreshTokenService.hash(next));
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(next));
+    }
+
+    @Test
+    void testPurgeExpired_KeepsConsumedTokensUntilFamilyEnds() {
+        AppUser user = userRepo.save(new AppUser(null, "Purge", "refresh-purge@test.de", "pw"));
+
+        String abandoned = refreshTokens.issue(user.getId());
+        String consumed = refreshTokens.issue(user.getId());
+        refreshTokens.rotate(consumed);
+        String ended = refreshTokens.issue(user.getId());
+        String endedNext = refreshTokens.rotate(ended).refreshToken();
+        String endedFamily = repo.findByTokenHash(RefreshTokenService.hash(ended)).orElseThrow().getFamilyId();
+
+        // nie benutzt und abgelaufen → weg
+        expire(abandoned);
+        // laufende Familie: verbrauchtes (auch abgelaufenes) Token bleibt
+        expire(consumed);
+        // Familie über der Höchstdauer → komplett weg
+        jdbc.update("update refresh_token set family_created_at = ? where family_id = ?",
+                Timestamp.from(Instant.now().minus(Duration.ofDays(91))), endedFamily);
+
+        assertTrue(refreshTokens.purgeExpired() >= 3);
+
+        assertTrue(repo.findByTokenHash(RefreshTokenService.hash(abandoned)).isEmpty());
+        assertTrue(repo.findByTokenHash(RefreshTokenService.hash(consumed)).isPresent());
+        assertTrue(repo.findByTokenHash(RefreshTokenService.hash(ended)).isEmpty());
+        assertTrue(repo.findByTokenHash(RefreshTokenService.hash(endedNext)).isEmpty());
+    }
+
+    @Test
+    void testRevoke_LogoutInvalidatesToken() {
+        AppUser user = userRepo.save(new AppUser(null, "Logout", "refresh-logout@test.de", "pw"));
+        String token = refreshTokens.issue(user.getId());
+
+        refreshTokens.revoke(token);
+
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate(token));
+        assertThrows(IllegalArgumentException.class, () -> refreshTokens.rotate("gibt-es-nicht"));
+    }
+
+    private void ageUsedAt(String token, Duration age) {
+        jdbc.update("update refresh_token set used_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minus(age)), RefreshTokenService.hash(token));
+    }
+
+    private void expire(String token) {
+        jdbc.update("update refresh_token set expires_at = ? where token_hash = ?",
+                Timestamp.from(Instant.now().minusSeconds(1)), RefreshTokenService.hash(token));
+    }
+
+    private int countFamily(String familyId) {
+        return jdbc.queryForObject("select count(*) from refresh_token where family_id = ?", Integer.class, familyId);
+    }
+}
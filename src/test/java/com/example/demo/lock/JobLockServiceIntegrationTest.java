@@ -0,0 +1,67 @@
+package com.example.demo.lock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class JobLockServiceIntegrationTest {
+
+    private static final Duration LONG = Duration.ofMinutes(10);
+
+    @Autowired
+    private JobLockService locks;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testSecondAcquireFailsWhileHeld() {
+        String name = name("held");
+
+        assertTrue(locks.tryAcquire(name, LONG));   // legt die Zeile an
+        assertFalse(locks.tryAcquire(name, LONG));  // Zeile da und noch aktiv
+    }
+
+    @Test
+    void testAcquireAfterRelease() {
+        String name = name("release");
+        assertTrue(locks.tryAcquire(name, LONG));
+
+        locks.release(name);
+
+        assertTrue(locks.tryAcquire(name, LONG));   // takeOver statt insert
+        assertFalse(locks.tryAcquire(name, LONG));
+    }
+
+    @Test
+    void testAcquireAfterLockAtMostExpired() throws Exception {
+        String name = name("expired");
+        assertTrue(locks.tryAcquire(name, Duration.ofMillis(1)));
+
+        Thread.sleep(50); // Instanz "gestorben", nie released
+
+        assertTrue(locks.tryAcquire(name, LONG));
+        assertFalse(locks.tryAcquire(name, LONG));
+    }
+
+    @Test
+    void testReleaseOnlyByHolder() {
+        String name = name("foreign");
+        assertTrue(locks.tryAcquire(name, LONG));
+        jdbc.update("update job_lock set locked_by = 'andere-instanz' where name = ?", name);
+
+        locks.release(name); // gehört uns nicht mehr -> no-op
+
+        assertFalse(locks.tryAcquire(name, LONG));
+    }
+
+    private static String name(String prefix) {
+        return prefix + "-" + System.nanoTime();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.notification;
+
+import com.example.demo.security.JwtService;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Owner-Grenze über den echten Security-Filter: User B sieht, zählt und markiert nichts von User A.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class NotificationOwnershipIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationRepository repo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JwtService jwt;
+
+    private String tokenA;
+    private String tokenB;
+    private Long notificationOfA;
+
+    @BeforeEach
+    void setUp() {
+        long n = System.nanoTime();
+        AppUser a = userRepo.save(new AppUser(null, "A", "owner-a-" + n + "@test.de", "pw"));
+        AppUser b = userRepo.save(new AppUser(null, "B", "owner-b-" + n + "@test.de", "pw"));
+        tokenA = "Bearer " + jwt.createToken(a.getId());
+        tokenB = "Bearer " + jwt.createToken(b.getId());
+        notificationOfA = repo.save(new Notification("nur für A", null, a.getId())).getId();
+    }
+
+    @Test
+    void testOtherUserCannotListOrCount() throws Exception {
+        mockMvc.perform(get("/notifications").header("Authorization", tokenB))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+        mockMvc.perform(get("/notifications").param("unseenOnly", "true").header("Authorization", tokenB))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+        mockMvc.perform(get("/notifications/unseen-count").header("Authorization", tokenB))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+
+        // Gegenprobe: A sieht sie
+        mockMvc.perform(get("/notifications").header("Authorization", tokenA))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].id").value(notificationOfA));
+        mockMvc.perform(get("/notifications/unseen-count").header("Authorization", tokenA))
+                .andExpect(jsonPath("$.count").value(1));
+    }
+
+    @Test
+    void testOtherUserCannotMarkSeen() throws Exception {
+        mockMvc.perform(put("/notifications/" + notificationOfA + "/seen").header("Authorization", tokenB))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(put("/notifications/seen")
+                        .header("Authorization", tokenB)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + notificationOfA + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0))
+                .andExpect(jsonPath("$.outcomes['" + notificationOfA + "']").value("NOT_FOUND"));
+
+        mockMvc.perform(put("/notifications/seen")
+                        .header("Authorization", tokenB)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"before\": \"2999-12-31T23:59:59\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0));
+
+        assertFalse(repo.findById(notificationOfA).orElseThrow().isSeen());
+    }
+
+    @Test
+    void testWithoutTokenUnauthorized() throws Exception {
+        mockMvc.perform(get("/notifications")).andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/notifications/" + notificationOfA + "/seen")).andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.notification;
+
+import com.example.demo.notification.NotificationService.MarkSeenResult;
+import com.example.demo.notification.NotificationService.MarkSeenResult.Outcome;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NotificationServiceIntegrationTest {
+
+    @Autowired
+    private NotificationService service;
+
+    @Autowired
+    private NotificationRepository repo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        long n = System.nanoTime();
+        userId = userRepo.save(new AppUser(null, "Seen", "seen-" + n + "@test.de", "pw")).getId();
+        otherUserId = userRepo.save(new AppUser(null, "Fremd", "seen-other-" + n + "@test.de", "pw")).getId();
+    }
+
+    @Test
+    void testMarkSeen_OutcomesPerId() {
+        Long a = save(userId);
+        Long b = save(userId);
+        Long foreign = save(otherUserId);
+        Long missing = foreign + 1000;
+
+        // a doppelt, fremde und nicht existierende id dazwischen
+        MarkSeenResult result = service.markSeen(userId, List.of(a, foreign, a, missing, b));
+
+        assertEquals(2, result.updated());
+        assertEquals(List.of(a, foreign, missing, b), List.copyOf(result.outcomes().keySet()));
+        assertEquals(Map.of(a, Outcome.SEEN, b, Outcome.SEEN, foreign, Outcome.NOT_FOUND, missing, Outcome.NOT_FOUND),
+                result.outcomes());
+
+        assertTrue(repo.findById(a).orElseThrow().isSeen());
+        assertTrue(repo.findById(b).orElseThrow().isSeen());
+        assertFalse(repo.findById(foreign).orElseThrow().isSeen());
+    }
+
+    @Test
+    void testMarkSeen_AlreadySeenNotCountedAsUpdated() {
+        Long a = save(userId);
+        service.markSeen(userId, List.of(a));
+
+        MarkSeenResult again = service.markSeen(userId, List.of(a));
+
+        assertEquals(0, again.updated());
+        assertEquals(Map.of(a, Outcome.SEEN), again.outcomes());
+    }
+
+    @Test
+    void testMarkSeenBefore_OnlyOwnAndOlder() {
+        Long old = save(userId);
+        Long fresh = save(userId);
+        Long foreignOld = save(otherUserId);
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(1);
+        jdbc.update("update notification set createtime = ? where id in (?, ?)", cutoff.minusDays(1), old, foreignOld);
+
+        MarkSeenResult result = service.markSeenBefore(userId, cutoff);
+
+        assertEquals(1, result.updated());
+        assertEquals(Map.of(), result.outcomes());
+        assertTrue(repo.findById(old).orElseThrow().isSeen());
+        assertFalse(repo.findById(fresh).orElseThrow().isSeen());
+        assertFalse(repo.findById(foreignOld).orElseThrow().isSeen());
+    }
+
+    private Long save(Long ownerId) {
+        return repo.save(new Notification("Erinnerung", null, ownerId)).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.notification;
+
+import com.example.demo.security.JwtService;
+import com.example.demo.user.AppUser;
+import com.example.demo.user.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Replay nach Last-Event-ID über den echten Controller: begrenzt, die neuesten, aufsteigend.
+ */
+@SpringBootTest(properties = "app.notifications.stream.replay-limit=20")
+@AutoConfigureMockMvc
+class NotificationStreamIntegrationTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private NotificationRepository repo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JwtService jwt;
+
+    @Test
+    void testReplayIsCappedToNewest() throws Exception {
+        AppUser user = userRepo.save(new AppUser(null, "Stream", "stream-replay@test.de", "pw"));
+        List<Notification> seed = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            seed.add(new Notification("Erinnerung " + i, null, user.getId()));
+        }
+        List<Long> ids = new ArrayList<>();
+        repo.saveAll(seed).forEach(n -> ids.add(n.getId()));
+        ids.sort(null);
+
+        // Last-Event-ID: 0 = "alles" – trotzdem nur die neuesten 20
+        List<Long> replayed = replay(user.getId(), 0L);
+        assertEquals(ids.subList(30, 50), replayed);
+
+        // normaler Reconnect: nur was nach der letzten ID kam
+        assertEquals(ids.subList(45, 50), replay(user.getId(), ids.get(44)));
+        assertEquals(List.of(), replay(user.getId(), ids.get(49)));
+    }
+
+    @Test
+    void testReplayOnlyOwnNotifications() throws Exception {
+        AppUser a = userRepo.save(new AppUser(null, "A", "stream-a@test.de", "pw"));
+        AppUser b = userRepo.save(new AppUser(null, "B", "stream-b@test.de", "pw"));
+        repo.save(new Notification("nur für A", null, a.getId()));
+
+        assertEquals(List.of(), replay(b.getId(), 0L));
+        assertEquals(1, replay(a.getId(), 0L).size());
+    }
+
+    private List<Long> replay(Long userId, Long lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/notifications/stream")
+                        .header("Authorization", "Bearer " + jwt.createToken(userId))
+                        .header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Replay wird vor der Rückgabe des Emitters geschickt, steht also schon im Response-Body
+        Matcher m = EVENT_ID.matcher(result.getResponse().getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        while (m.find()) {
+            ids.add(Long.parseLong(m.group(1)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.demo.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationStreamRegistryTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private NotificationStreamRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.destroy();
+        }
+    }
+
+    @Test
+    void shouldDeliverNotificationCommittedDuringReplayExactlyOnce() {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        registry = registry(emitter, 60_000);
+
+        // zwischen Registrieren und Replay-Query committet: kommt als Push UND im Replay
+        registry.open(1L, () -> {
+            registry.onCreated(event(1L, notification(5L)));
+            registry.onCreated(event(1L, notification(6L))); // nur als Push
+            return List.of(notification(4L), notification(5L));
+        });
+
+        awaitUntil(() -> emitter.ids().size() >= 3);
+        assertEquals(List.of(4L, 5L, 6L), emitter.ids());
+        assertEquals(1, registry.openStreams());
+    }
+
+    @Test
+    void shouldPushOnlyToOwner() {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        registry = registry(emitter, 60_000);
+        registry.open(1L, List::of);
+
+        registry.onCreated(event(2L, notification(7L)));
+        registry.onCreated(event(1L, notification(8L)));
+
+        awaitUntil(() -> !emitter.ids().isEmpty());
+        assertEquals(List.of(8L), emitter.ids());
+    }
+
+    @Test
+    void shouldNotBlockCommitThreadOnSlowSocket() throws Exception {
+        CountDownLatch socket = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(socket);
+        registry = registry(slow, 60_000);
+        registry.open(1L, List::of);
+
+        long start = System.nanoTime();
+        registry.onCreated(event(1L, notification(9L)));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, "onCreated hat gewartet");
+
+        socket.countDown();
+        awaitUntil(() -> !slow.ids().isEmpty());
+        assertEquals(List.of(9L), slow.ids());
+    }
+
+    @Test
+    void shouldSendHeartbeatOnOwnPool() {
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        registry = registry(emitter, 20);
+        registry.open(1L, List::of);
+
+        awaitUntil(() -> emitter.raw().contains(":ping"));
+    }
+
+    @Test
+    void shouldDropStreamWhenSendFails() {
+        RecordingEmitter broken = new RecordingEmitter(null) {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        registry = registry(broken, 60_000);
+        registry.open(1L, List::of);
+        assertEquals(1, registry.openStreams());
+
+        registry.heartbeat();
+
+        assertEquals(0, registry.openStreams());
+    }
+
+    private static NotificationStreamRegistry registry(SseEmitter emitter, long heartbeatMs) {
+        return new NotificationStreamRegistry(60_000, heartbeatMs, 2) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitter;
+            }
+        };
+    }
+
+    private static NotificationsCreatedEvent event(Long userId, Notification n) {
+        return new NotificationsCreatedEvent(Map.of(userId, List.of(n)));
+    }
+
+    private static Notification notification(Long id) {
+        Notification n = new Notification("Erinnerung " + id, null, 1L);
+        try {
+            Field f = Notification.class.getDeclaredField("id");
+            f.setAccessible(true);
+            f.set(n, id);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return n;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Bedingung nicht erreicht");
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    // schneidet mit, was rausgehen würde; optional blockiert jeder Send bis zum Latch (langsamer Socket)
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch block;
+
+        RecordingEmitter(CountDownLatch block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (block != null) {
+                try {
+                    block.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof String s) {
+                    text.append(s);
+                }
+            });
+            sent.add(text.toString());
+        }
+
+        String raw() {
+            return String.join("", sent);
+        }
+
+        List<Long> ids() {
+            Matcher m = EVENT_ID.matcher(raw());
+            List<Long> ids = new ArrayList<>();
+            while (m.find()) {
+                ids.add(Long.parseLong(m.group(1)));
+            }
+            return ids;
+        }
+    }
+}
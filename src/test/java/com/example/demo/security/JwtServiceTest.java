@@ -0,0 +1,114 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "TEST_SECRET_TEST_SECRET_TEST_SECRET_1234";
+    private static final long TTL_MS = 60_000;
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+
+    @Test
+    void testVerify_SecondCallIsCacheHit() {
+        JwtService jwt = new JwtService(SECRET, TTL_MS, true, 100, clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwt.bindTo(registry);
+        String token = jwt.createToken(42L, List.of("USER", "ADMIN"));
+
+        JwtService.AccessClaims first = jwt.verify(token);
+        JwtService.AccessClaims second = jwt.verify(token);
+
+        assertEquals(new JwtService.AccessClaims(42L, List.of("USER", "ADMIN")), first);
+        assertSame(first, second);
+        assertEquals(1.0, gets(registry, "hit"));
+        assertEquals(1.0, gets(registry, "miss"));
+    }
+
+    @Test
+    void testVerify_ExpiredTokenRejectedEvenIfCached() {
+        JwtService jwt = new JwtService(SECRET, TTL_MS, true, 100, clock);
+        String token = jwt.createToken(42L);
+        assertEquals(42L, jwt.verifyUserId(token)); // jetzt im Cache
+
+        // nur die Uhr des Service läuft weiter, der Cache-Eintrag ist noch da -> exp muss neu geprüft werden
+        clock.advanceMs(TTL_MS + 2_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwt.verify(token));
+        assertThrows(ExpiredJwtException.class, () -> jwt.verify(token));
+    }
+
+    @Test
+    void testVerify_CacheDisabled() {
+        JwtService jwt = new JwtService(SECRET, TTL_MS, false, 100, clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwt.bindTo(registry);
+        String token = jwt.createToken(7L);
+
+        JwtService.AccessClaims first = jwt.verify(token);
+        JwtService.AccessClaims second = jwt.verify(token);
+
+        assertEquals(first, second);
+        assertNotSame(first, second); // jedes Mal frisch geparst
+        assertNull(registry.find("cache.gets").functionCounter());
+
+        clock.advanceMs(TTL_MS + 2_000);
+        assertThrows(ExpiredJwtException.class, () -> jwt.verify(token));
+    }
+
+    @Test
+    void testVerify_ForeignSignatureRejected() {
+        JwtService jwt = new JwtService(SECRET, TTL_MS, true, 100, clock);
+        String foreign = new JwtService(SECRET.replace('1', '9'), TTL_MS, true, 100, clock).createToken(42L);
+
+        assertThrows(JwtException.class, () -> jwt.verify(foreign));
+        assertThrows(JwtException.class, () -> jwt.verify(foreign)); // Fehlschläge werden nicht gecacht
+    }
+
+    private static double gets(SimpleMeterRegistry registry, String result) {
+        FunctionCounter counter = registry.find("cache.gets").tags("cache", "jwt.verified", "result", result)
+                .functionCounter();
+        assertNotNull(counter, "cache.gets result=" + result);
+        return counter.count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMs(long ms) {
+            now = now.plusMillis(ms);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
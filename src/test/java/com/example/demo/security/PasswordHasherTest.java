@@ -0,0 +1,111 @@
+package com.example.demo.security;
+
+import com.example.demo.error.BusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    void shouldEncodeAndMatchOnPool() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 4, 2, 8, 5_000);
+
+        String hash = hasher.encode("geheim");
+
+        assertTrue(hasher.matches("geheim", hash));
+        assertFalse(hasher.matches("falsch", hash));
+        assertFalse(hasher.needsRehash(hash));
+    }
+
+    @Test
+    void shouldRequestRehashWhenCostChanged() {
+        String alt = new BCryptPasswordEncoder(4).encode("geheim");
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 5, 1, 8, 5_000);
+
+        assertTrue(hasher.needsRehash(alt));
+        assertTrue(hasher.matches("geheim", alt)); // alter Hash bleibt gültig
+        assertFalse(hasher.needsRehash(hasher.encode("geheim")));
+
+        // auch zurück zu niedrigeren Kosten
+        String teuer = new BCryptPasswordEncoder(6).encode("geheim");
+        assertTrue(hasher.needsRehash(teuer));
+    }
+
+    @Test
+    void shouldRejectWith429WhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(release), new SimpleMeterRegistry(), 4, 1, 1, 5_000);
+
+        // 1 läuft, 1 wartet in der Queue
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        awaitUntil(() -> hasher.activeCount() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        awaitUntil(() -> hasher.queueSize() == 1);
+
+        BusyException ex = assertThrows(BusyException.class, () -> hasher.encode("c"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldFailWith503WhenWaitingTooLong() {
+        CountDownLatch release = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(release), new SimpleMeterRegistry(), 4, 1, 1, 50);
+
+        BusyException ex = assertThrows(BusyException.class, () -> hasher.encode("a"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        release.countDown();
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Bedingung nicht erreicht");
+            }
+            Thread.sleep(5);
+        }
+    }
+}